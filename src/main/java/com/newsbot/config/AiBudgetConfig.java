@@ -0,0 +1,27 @@
+package com.newsbot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ai.budget")
+public class AiBudgetConfig {
+    private boolean enabled = false;
+    private long dailyTokens = 0;
+    private long runTokens = 0;
+    private long breakingRunTokens = 0;
+    private double lowWatermark = 0.2;
+    private String zone = "America/Sao_Paulo";
+    private Map<String, ModelPrice> prices = new LinkedHashMap<>();
+
+    @Data
+    public static class ModelPrice {
+        private double inputPerMillion;
+        private double outputPerMillion;
+    }
+}
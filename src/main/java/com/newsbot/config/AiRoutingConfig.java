@@ -0,0 +1,35 @@
+package com.newsbot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ai.routing")
+public class AiRoutingConfig {
+    private boolean enabled = false;
+    private Duration failoverCooldown = Duration.ofMinutes(5);
+    private Map<String, ModelProfile> profiles = new LinkedHashMap<>();
+    private Map<String, TaskRoute> tasks = new LinkedHashMap<>();
+
+    @Data
+    public static class ModelProfile {
+        private String model;
+        private Double temperature;
+    }
+
+    @Data
+    public static class TaskRoute {
+        private String primary;
+        private String escalation;
+        private String failover;
+        private String economy;
+        private Duration degradedLatency = Duration.ofSeconds(30);
+        private double minCoverage = 0.8;
+    }
+}
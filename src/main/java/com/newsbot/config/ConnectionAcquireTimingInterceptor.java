@@ -0,0 +1,78 @@
+package com.newsbot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+class ConnectionAcquireTimingInterceptor implements MethodInterceptor {
+
+    private static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String poolName;
+
+    private volatile Timer successTimer;
+    private volatile Timer errorTimer;
+
+    ConnectionAcquireTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String poolName) {
+        this.meterRegistry = meterRegistry;
+        this.poolName = poolName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!"create".equals(invocation.getMethod().getName()) || invocation.getArguments().length > 0) {
+            return invocation.proceed();
+        }
+
+        Publisher<? extends Connection> acquire = (Publisher<? extends Connection>) invocation.proceed();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(acquire)
+                    .doOnSuccess(connection -> record(successTimer(), start))
+                    .doOnError(error -> record(errorTimer(), start));
+        });
+    }
+
+    private void record(Timer timer, long start) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer successTimer() {
+        if (successTimer == null) {
+            successTimer = buildTimer("success");
+        }
+        return successTimer;
+    }
+
+    private Timer errorTimer() {
+        if (errorTimer == null) {
+            errorTimer = buildTimer("error");
+        }
+        return errorTimer;
+    }
+
+    private Timer buildTimer(String outcome) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return Timer.builder(ACQUIRE_TIMER)
+                .description("Tempo de espera para obter uma conexao do pool R2DBC")
+                .tag("name", poolName)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
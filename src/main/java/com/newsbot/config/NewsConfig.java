@@ -4,18 +4,42 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Component
 @ConfigurationProperties(prefix = "app.news")
 public class NewsConfig {
     private List<RssFeed> rssFeeds = new ArrayList<>();
+    private PreRanker preRanker = new PreRanker();
 
     @Data
     public static class RssFeed {
         private String url;
         private String name;
     }
+
+    @Data
+    public static class PreRanker {
+        private boolean enabled = true;
+        private int shortlistSize = 60;
+        private Duration recencyHalfLife = Duration.ofHours(12);
+        private double recencyWeight = 1.5;
+        private Duration historyWindow = Duration.ofDays(30);
+        private Duration historyRefreshInterval = Duration.ofHours(1);
+        private double historyWeight = 1.0;
+        private Map<String, Double> sourcePriors = new LinkedHashMap<>(Map.of(
+                "techcrunch", 2.0,
+                "verge", 2.0,
+                "ars technica", 2.0,
+                "polygon", 1.0,
+                "pc gamer", 1.0
+        ));
+        private Map<String, Double> keywordWeights = new HashMap<>();
+    }
 }
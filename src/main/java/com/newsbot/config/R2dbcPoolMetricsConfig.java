@@ -0,0 +1,32 @@
+package com.newsbot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class R2dbcPoolMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionAcquireTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionPool pool) {
+                    log.info("Instrumentando aquisicao de conexoes do pool R2DBC '{}'", beanName);
+                    ProxyFactory proxyFactory = new ProxyFactory(pool);
+                    proxyFactory.setProxyTargetClass(true);
+                    proxyFactory.addAdvice(new ConnectionAcquireTimingInterceptor(meterRegistry, beanName));
+                    return proxyFactory.getProxy();
+                }
+                return bean;
+            }
+        };
+    }
+}
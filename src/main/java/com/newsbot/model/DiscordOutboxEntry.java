@@ -0,0 +1,54 @@
+package com.newsbot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("discord_outbox")
+public class DiscordOutboxEntry {
+    @Id
+    private Long id;
+
+    @Column("article_id")
+    private Long articleId;
+
+    @Column("webhook_url")
+    private String webhookUrl;
+
+    @Column("idempotency_key")
+    private String idempotencyKey;
+
+    @Column("payload")
+    private String payload;
+
+    @Column("attempts")
+    private Integer attempts;
+
+    @Column("last_error")
+    private String lastError;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("sent_at")
+    private LocalDateTime sentAt;
+
+    @Column("not_before")
+    private LocalDateTime notBefore;
+
+    @Column("claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column("claimed_by")
+    private String claimedBy;
+}
@@ -0,0 +1,36 @@
+package com.newsbot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("news_scores")
+public class NewsScore {
+    @Id
+    private Long id;
+
+    @Column("content_hash")
+    private String contentHash;
+
+    @Column("prompt_hash")
+    private String promptHash;
+
+    @Column("model")
+    private String model;
+
+    @Column("score")
+    private Integer score;
+
+    @Column("scored_at")
+    private LocalDateTime scoredAt;
+}
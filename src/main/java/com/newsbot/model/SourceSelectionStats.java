@@ -0,0 +1,4 @@
+package com.newsbot.model;
+
+public record SourceSelectionStats(String source, Long total, Long sent) {
+}
@@ -0,0 +1,42 @@
+package com.newsbot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("translation_cache")
+public class TranslationCacheEntry {
+    @Id
+    private Long id;
+
+    @Column("content_hash")
+    private String contentHash;
+
+    @Column("target_language")
+    private String targetLanguage;
+
+    @Column("model")
+    private String model;
+
+    @Column("prompt_version")
+    private String promptVersion;
+
+    @Column("title")
+    private String title;
+
+    @Column("description")
+    private String description;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,59 @@
+package com.newsbot.repository;
+
+import com.newsbot.model.DiscordOutboxEntry;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface DiscordOutboxRepository extends R2dbcRepository<DiscordOutboxEntry, Long> {
+    @Modifying
+    @Query("INSERT INTO discord_outbox (article_id, webhook_url, idempotency_key, payload, attempts, created_at, " +
+            "not_before, claimed_at, claimed_by) " +
+            "VALUES (:articleId, :webhookUrl, :idempotencyKey, :payload, 0, :createdAt, :notBefore, :claimedAt, :claimedBy) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET payload = EXCLUDED.payload, not_before = EXCLUDED.not_before, " +
+            "claimed_at = EXCLUDED.claimed_at, claimed_by = EXCLUDED.claimed_by " +
+            "WHERE discord_outbox.sent_at IS NULL " +
+            "AND (discord_outbox.claimed_at IS NULL OR discord_outbox.claimed_at < :staleBefore)")
+    Mono<Integer> enqueue(Long articleId, String webhookUrl, String idempotencyKey, String payload,
+                          LocalDateTime createdAt, LocalDateTime notBefore, LocalDateTime claimedAt,
+                          String claimedBy, LocalDateTime staleBefore);
+
+    @Query("UPDATE discord_outbox SET claimed_at = :now, claimed_by = :claimedBy WHERE id IN (" +
+            "SELECT id FROM discord_outbox WHERE sent_at IS NULL AND attempts < :maxAttempts " +
+            "AND (not_before IS NULL OR not_before <= :now) " +
+            "AND (claimed_at IS NULL OR claimed_at < :staleBefore) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING *")
+    Flux<DiscordOutboxEntry> claimPending(int maxAttempts, LocalDateTime now, LocalDateTime staleBefore,
+                                          String claimedBy, int limit);
+
+    @Modifying
+    @Query("WITH acked AS (UPDATE discord_outbox SET sent_at = :sentAt " +
+            "WHERE idempotency_key IN (:keys) AND sent_at IS NULL RETURNING article_id) " +
+            "UPDATE news_articles SET sent_to_discord = true WHERE id IN (SELECT article_id FROM acked)")
+    Mono<Integer> acknowledge(Collection<String> keys, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE discord_outbox SET attempts = attempts + 1, last_error = :error, claimed_at = NULL, " +
+            "claimed_by = NULL WHERE idempotency_key IN (:keys) AND sent_at IS NULL")
+    Mono<Integer> recordFailure(Collection<String> keys, String error);
+
+    @Modifying
+    @Query("UPDATE discord_outbox SET attempts = attempts + 1, last_error = :error " +
+            "WHERE idempotency_key IN (:keys) AND sent_at IS NULL")
+    Mono<Integer> recordAttempt(Collection<String> keys, String error);
+
+    @Modifying
+    @Query("UPDATE discord_outbox SET claimed_at = NULL, claimed_by = NULL " +
+            "WHERE idempotency_key IN (:keys) AND sent_at IS NULL AND claimed_by = :claimedBy")
+    Mono<Integer> release(Collection<String> keys, String claimedBy);
+
+    @Modifying
+    @Query("UPDATE discord_outbox SET claimed_at = NULL, claimed_by = NULL " +
+            "WHERE sent_at IS NULL AND claimed_by = :claimedBy")
+    Mono<Integer> releaseAll(String claimedBy);
+}
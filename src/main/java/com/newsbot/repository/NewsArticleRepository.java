@@ -1,6 +1,7 @@
 package com.newsbot.repository;
 
 import com.newsbot.model.NewsArticle;
+import com.newsbot.model.SourceSelectionStats;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
@@ -18,4 +19,8 @@ public interface NewsArticleRepository extends R2dbcRepository<NewsArticle, Long
     @Query("SELECT * FROM news_articles WHERE created_at >= :since and sent_to_discord = true ORDER BY created_at DESC")
     Flux<NewsArticle> findRecentArticles(LocalDateTime since);
 
+    @Query("SELECT source, COUNT(*) AS total, COUNT(*) FILTER (WHERE sent_to_discord = true) AS sent " +
+            "FROM news_articles WHERE created_at >= :since GROUP BY source")
+    Flux<SourceSelectionStats> findSourceSelectionStats(LocalDateTime since);
+
 }
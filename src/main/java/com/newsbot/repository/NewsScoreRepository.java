@@ -0,0 +1,27 @@
+package com.newsbot.repository;
+
+import com.newsbot.model.NewsScore;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface NewsScoreRepository extends R2dbcRepository<NewsScore, Long> {
+    @Query("SELECT * FROM news_scores WHERE content_hash IN (:contentHashes) AND prompt_hash = :promptHash " +
+            "AND model = :model AND scored_at >= :since")
+    Flux<NewsScore> findValidScores(Collection<String> contentHashes, String promptHash, String model, LocalDateTime since);
+
+    @Modifying
+    @Query("INSERT INTO news_scores (content_hash, prompt_hash, model, score, scored_at) " +
+            "VALUES (:contentHash, :promptHash, :model, :score, :scoredAt) " +
+            "ON CONFLICT (content_hash, prompt_hash, model) DO UPDATE SET score = EXCLUDED.score, scored_at = EXCLUDED.scored_at")
+    Mono<Integer> upsertScore(String contentHash, String promptHash, String model, Integer score, LocalDateTime scoredAt);
+
+    @Modifying
+    @Query("DELETE FROM news_scores WHERE scored_at < :before")
+    Mono<Integer> deleteScoredBefore(LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package com.newsbot.repository;
+
+import com.newsbot.model.TranslationCacheEntry;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface TranslationCacheRepository extends R2dbcRepository<TranslationCacheEntry, Long> {
+    @Query("SELECT * FROM translation_cache WHERE content_hash = :contentHash AND target_language = :targetLanguage " +
+            "AND model = :model AND prompt_version = :promptVersion")
+    Mono<TranslationCacheEntry> findEntry(String contentHash, String targetLanguage, String model, String promptVersion);
+
+    @Modifying
+    @Query("INSERT INTO translation_cache (content_hash, target_language, model, prompt_version, title, description, created_at) " +
+            "VALUES (:contentHash, :targetLanguage, :model, :promptVersion, :title, :description, :createdAt) " +
+            "ON CONFLICT (content_hash, target_language, model, prompt_version) " +
+            "DO UPDATE SET title = EXCLUDED.title, description = EXCLUDED.description, created_at = EXCLUDED.created_at")
+    Mono<Integer> upsertEntry(String contentHash, String targetLanguage, String model, String promptVersion,
+                              String title, String description, LocalDateTime createdAt);
+}
@@ -1,21 +1,37 @@
 package com.newsbot.scheduler;
 
 import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmBudgetScope;
+import com.newsbot.service.ai.LlmUsageTracker;
 import com.newsbot.service.news.NewsEditorService;
+import com.newsbot.service.news.NewsFusedEditorService;
 import com.newsbot.service.news.RssNewsService;
 import com.newsbot.service.persistence.NewsArticlePersistenceService;
+import com.newsbot.service.discord.DiscordOutboxWorker;
 import com.newsbot.service.discord.NewsDiscordBatchProcessor;
 import com.newsbot.service.filter.NewsFilterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Component
@@ -27,46 +43,237 @@ public class DailyNewsScheduler {
     private final NewsArticlePersistenceService newsArticlePersistenceService;
     private final NewsEditorService newsEditorService;
     private final NewsDiscordBatchProcessor discordBatchProcessor;
+    private final NewsFusedEditorService newsFusedEditorService;
+    private final LlmUsageTracker usageTracker;
+    private final DiscordOutboxWorker outboxWorker;
 
-    @Value("${app.discord.webhook-url}")
+    @Value("${app.discord.webhook-url:}")
     private String webhookUrl;
 
-    @Scheduled(cron = "0 0 11 * * *", zone = "America/Sao_Paulo")
+    @Value("${app.discord.webhook-urls:}")
+    private List<String> webhookUrls;
+
+    @Value("${app.news.pipeline-mode:two-phase}")
+    private String pipelineMode;
+
+    @Value("${app.news.breaking.enabled:false}")
+    private boolean breakingEnabled;
+
+    @Value("${app.news.breaking.pre-filter-score:6}")
+    private int breakingPreFilterScore;
+
+    @Value("${app.news.breaking.threshold:9}")
+    private int breakingThreshold;
+
+    @Value("${app.news.breaking.max-per-hour:2}")
+    private int breakingMaxPerHour;
+
+    @Value("${app.news.breaking.max-age:3h}")
+    private Duration breakingMaxAge;
+
+    @Value("${app.news.schedule.cron:0 0 11 * * *}")
+    private String dailyCron;
+
+    @Value("${app.news.schedule.zone:America/Sao_Paulo}")
+    private String dailyZone;
+
+    @Value("${app.news.precompute.enabled:false}")
+    private boolean precomputeEnabled;
+
+    @Value("${app.news.precompute.lead-time:30m}")
+    private Duration precomputeLeadTime;
+
+    @Value("${app.news.precompute.delta-threshold:8}")
+    private int precomputeDeltaThreshold;
+
+    @Value("${app.news.precompute.pre-filter-score:6}")
+    private int precomputePreFilterScore;
+
+    private final Set<String> preparedHashes = ConcurrentHashMap.newKeySet();
+    private volatile ZonedDateTime preparingFor;
+    private volatile ZonedDateTime preparedFor;
+    private volatile Mono<Integer> precomputing;
+    private final Deque<LocalDateTime> breakingDeliveries = new ArrayDeque<>();
+    private final Map<String, LocalDateTime> breakingEvaluated = new ConcurrentHashMap<>();
+    private final AtomicBoolean breakingRunning = new AtomicBoolean();
+
+    @Scheduled(cron = "${app.news.schedule.cron:0 0 11 * * *}", zone = "${app.news.schedule.zone:America/Sao_Paulo}")
     public void executeDaily() {
         log.info("Iniciando job diario de noticias");
 
-        processAndSendNews()
+        Mono<Integer> running = precomputing;
+        Mono<Integer> run = Mono.defer(() -> isPreparedForNow() ? deliverPrepared() : processAndSendNews(null));
+        if (running != null) {
+            log.info("Pre-calculo ainda em andamento, aguardando sua conclusao antes do envio");
+            run = running.onErrorResume(error -> Mono.empty()).then(run);
+        }
+        run.subscribe(
+                count -> log.info("Job concluido com sucesso. {} noticias processadas", count),
+                error -> log.error("Erro no job diario: {}", error.getMessage(), error)
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${app.news.breaking.poll-interval:10m}",
+            initialDelayString = "${app.news.breaking.poll-interval:10m}")
+    public void pollBreakingNews() {
+        if (!breakingEnabled) {
+            return;
+        }
+
+        checkBreakingNews()
                 .subscribe(
-                        count -> log.info("Job concluido com sucesso. {} noticias processadas", count),
-                        error -> log.error("Erro no job diario: {}", error.getMessage(), error)
+                        count -> {
+                            if (count > 0) {
+                                log.info("{} noticias urgentes enviadas ao Discord", count);
+                            }
+                        },
+                        error -> log.error("Erro na verificacao de noticias urgentes: {}", error.getMessage(), error)
                 );
     }
 
+    public Mono<Integer> checkBreakingNews() {
+        if (!breakingRunning.compareAndSet(false, true)) {
+            log.debug("Verificacao de noticias urgentes ja em andamento");
+            return Mono.just(0);
+        }
+
+        int remaining = remainingBreakingSlots();
+        List<String> destinations = webhookDestinations();
+        if (remaining == 0 || destinations.isEmpty()) {
+            log.debug("Verificacao de noticias urgentes ignorada (limite por hora atingido ou sem webhook)");
+            breakingRunning.set(false);
+            return Mono.just(0);
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(breakingMaxAge);
+        breakingEvaluated.values().removeIf(evaluatedAt -> evaluatedAt.isBefore(cutoff));
+        usageTracker.startRun(LlmBudgetScope.BREAKING);
+
+        return rssNewsService.fetchAllNews()
+                .filter(article -> article.getPublishedDate() != null && article.getPublishedDate().isAfter(cutoff))
+                .filter(article -> article.getContentHash() == null
+                        || breakingEvaluated.putIfAbsent(article.getContentHash(), LocalDateTime.now()) == null)
+                .flatMap(newsFilterService::filterDuplicates)
+                .collectList()
+                .flatMap(candidates -> candidates.isEmpty()
+                        ? Mono.just(List.<NewsArticle>of())
+                        : newsEditorService.selectBreakingNews(candidates, breakingPreFilterScore, breakingThreshold))
+                .map(selected -> selected.stream().limit(remaining).toList())
+                .flatMap(selected -> deliverBreakingNews(selected, destinations))
+                .contextWrite(Context.of(LlmBudgetScope.class, LlmBudgetScope.BREAKING))
+                .doFinally(signal -> {
+                    usageTracker.finishRun(LlmBudgetScope.BREAKING);
+                    breakingRunning.set(false);
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${app.news.precompute.check-interval:1m}")
+    public void precomputeIfDue() {
+        if (!precomputeEnabled) {
+            return;
+        }
+
+        ZonedDateTime deliverAt = CronExpression.parse(dailyCron).next(ZonedDateTime.now(ZoneId.of(dailyZone)));
+        if (deliverAt == null || deliverAt.equals(preparingFor)
+                || ZonedDateTime.now(deliverAt.getZone()).isBefore(deliverAt.minus(precomputeLeadTime))) {
+            return;
+        }
+
+        preparingFor = deliverAt;
+        Mono<Integer> run = prepareNews(deliverAt)
+                .doFinally(signal -> precomputing = null)
+                .cache();
+        precomputing = run;
+        run.subscribe(
+                count -> log.info("Pre-calculo concluido. {} noticias prontas para {}", count, deliverAt),
+                error -> log.error("Erro no pre-calculo de noticias: {}", error.getMessage(), error)
+        );
+    }
+
+    public Mono<Integer> prepareNews(ZonedDateTime deliverAt) {
+        LocalDateTime notBefore = deliverAt.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        log.info("Pre-calculando noticias para envio em {}", deliverAt);
+        preparedFor = null;
+        preparedHashes.clear();
+
+        return processAndSendNews(notBefore)
+                .flatMap(count -> {
+                    if (count > 0) {
+                        preparedFor = deliverAt;
+                    } else {
+                        log.warn("Pre-calculo nao preparou nenhuma noticia; o envio das {} fara o processamento completo",
+                                deliverAt);
+                    }
+                    if (!LocalDateTime.now().isBefore(notBefore)) {
+                        return resumePendingDeliveries().thenReturn(count);
+                    }
+                    return Mono.just(count);
+                })
+                .doOnError(error -> preparedFor = null);
+    }
+
+    public Mono<Integer> deliverPrepared() {
+        log.info("Enviando noticias pre-calculadas");
+
+        return outboxWorker.drain()
+                .onErrorResume(error -> {
+                    log.error("Erro ao enviar noticias pre-calculadas: {}", error.getMessage());
+                    return Mono.just(0);
+                })
+                .doOnNext(count -> log.info("{} envios pre-calculados entregues ao Discord", count))
+                .flatMap(sent -> checkLateNews().map(late -> sent + late));
+    }
+
     public Mono<Integer> executeManually() {
         log.info("Executando job manualmente");
-        return processAndSendNews()
+        return processAndSendNews(null)
                 .timeout(Duration.ofMinutes(10))
                 .doOnError(error -> log.error("Timeout ou erro na execucao manual: {}", error.getMessage()));
     }
 
 
-    private Mono<Integer> processAndSendNews() {
-        return rssNewsService.fetchAllNews()
+    private Mono<Integer> processAndSendNews(LocalDateTime deliverAt) {
+        long startTime = System.currentTimeMillis();
+        usageTracker.startRun();
+        return resumePendingDeliveries()
+                .thenMany(rssNewsService.fetchAllNews())
                 .onErrorContinue((throwable, o) -> {
                     log.error("Erro ao processar artigo individual: {}", throwable.getMessage());
                 })
+                .doOnNext(article -> {
+                    if (deliverAt != null && article.getContentHash() != null) {
+                        preparedHashes.add(article.getContentHash());
+                    }
+                })
                 .flatMap(newsFilterService::filterDuplicates)
                 .flatMap(newsArticlePersistenceService::saveArticle)
                 .collectList()
-                .flatMap(this::processArticles)
+                .flatMap(articles -> processArticles(articles, deliverAt))
                 .onErrorResume(error -> {
                     log.error("Erro no processamento geral: {}", error.getMessage(), error);
                     return Mono.just(-1);
                 })
-                .defaultIfEmpty(0);
+                .defaultIfEmpty(0)
+                .doOnNext(count -> log.info("Pipeline '{}' concluido em {}ms", pipelineMode,
+                        System.currentTimeMillis() - startTime))
+                .doFinally(signal -> usageTracker.finishRun());
+    }
+
+    private Mono<Void> resumePendingDeliveries() {
+        return outboxWorker.drain()
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("{} noticias pendentes da execucao anterior enviadas ao Discord", count);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.error("Erro ao retomar envios pendentes: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
     }
 
-    private Mono<Integer> processArticles(List<NewsArticle> articles) {
+    private Mono<Integer> processArticles(List<NewsArticle> articles, LocalDateTime deliverAt) {
         if (articles.isEmpty()) {
             log.info("Nenhuma noticia nova encontrada");
             return Mono.just(0);
@@ -74,6 +281,10 @@ public class DailyNewsScheduler {
 
         log.info("Encontradas {} noticias novas para processar", articles.size());
 
+        if ("fused".equalsIgnoreCase(pipelineMode)) {
+            return processArticlesFused(articles, deliverAt);
+        }
+
         return newsEditorService.selectTopNews(articles)
                 .flatMap(selectedArticles -> {
                     if (selectedArticles.isEmpty()) {
@@ -84,21 +295,151 @@ public class DailyNewsScheduler {
                     log.info("IA selecionou {} de {} noticias para enviar",
                             selectedArticles.size(), articles.size());
 
-                    return processSelectedArticles(selectedArticles)
-                            .doOnError(e -> log.error("Erro no processamento de artigos selecionados: {}", e.getMessage()))
-                            .then(Mono.just(selectedArticles.size()));
+                    return processSelectedArticles(selectedArticles, deliverAt)
+                            .doOnError(e -> log.error("Erro no processamento de artigos selecionados: {}", e.getMessage()));
+                });
+    }
+
+    private Mono<Integer> processArticlesFused(List<NewsArticle> articles, LocalDateTime deliverAt) {
+        return newsFusedEditorService.selectAndTranslate(articles)
+                .flatMap(selectedNews -> {
+                    if (selectedNews.isEmpty()) {
+                        log.info("IA nao selecionou nenhuma noticia");
+                        return Mono.just(0);
+                    }
+
+                    log.info("IA selecionou e traduziu {} de {} noticias para enviar",
+                            selectedNews.size(), articles.size());
+
+                    List<String> destinations = webhookDestinations();
+                    if (destinations.isEmpty()) {
+                        log.warn("DISCORD_WEBHOOK_URL nao configurada. Pulando envio para Discord");
+                        return Mono.just(deliverAt != null ? 0 : selectedNews.size());
+                    }
+
+                    Mono<Integer> delivery = deliverAt != null
+                            ? discordBatchProcessor.stageTranslatedForDelivery(selectedNews, destinations, deliverAt)
+                            : deliverToDiscord(discordBatchProcessor.sendTranslatedToDiscord(selectedNews, destinations),
+                                    selectedNews.size()).thenReturn(selectedNews.size());
+
+                    return delivery
+                            .doOnError(e -> log.error("Erro no processamento de artigos selecionados: {}", e.getMessage()));
                 });
     }
 
-    private Mono<Void> processSelectedArticles(List<NewsArticle> selectedArticles) {
-        if (webhookUrl == null || webhookUrl.trim().isEmpty()) {
+    private Mono<Integer> processSelectedArticles(List<NewsArticle> selectedArticles, LocalDateTime deliverAt) {
+        List<String> destinations = webhookDestinations();
+        if (destinations.isEmpty()) {
             log.warn("DISCORD_WEBHOOK_URL nao configurada. Pulando envio para Discord");
-            return Mono.empty();
+            return Mono.just(deliverAt != null ? 0 : selectedArticles.size());
         }
 
         log.info("Processando {} artigos selecionados com IA para traducao/resumo", selectedArticles.size());
 
-        return discordBatchProcessor.processAndSendToDiscord(selectedArticles, webhookUrl)
+        if (deliverAt != null) {
+            return discordBatchProcessor.stageForDelivery(selectedArticles, destinations, deliverAt);
+        }
+
+        return deliverToDiscord(discordBatchProcessor.processAndSendToDiscord(selectedArticles, destinations),
+                selectedArticles.size())
+                .thenReturn(selectedArticles.size());
+    }
+
+    private Mono<Integer> deliverBreakingNews(List<NewsArticle> selected, List<String> destinations) {
+        if (selected.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        log.info("Noticias urgentes: {} artigos com nota >= {}, enviando imediatamente",
+                selected.size(), breakingThreshold);
+
+        return sendImmediately(selected, destinations)
+                .doOnNext(this::recordBreakingDeliveries);
+    }
+
+    private Mono<Integer> checkLateNews() {
+        List<String> destinations = webhookDestinations();
+        if (destinations.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        usageTracker.startRun(LlmBudgetScope.BREAKING);
+        return rssNewsService.fetchAllNews()
+                .filter(article -> article.getContentHash() == null || !preparedHashes.contains(article.getContentHash()))
+                .flatMap(newsFilterService::filterDuplicates)
+                .collectList()
+                .flatMap(late -> {
+                    if (late.isEmpty()) {
+                        return Mono.just(List.<NewsArticle>of());
+                    }
+                    log.info("{} noticias chegaram depois do pre-calculo, verificando se alguma e relevante", late.size());
+                    return newsEditorService.selectBreakingNews(late, precomputePreFilterScore, precomputeDeltaThreshold);
+                })
+                .flatMap(selected -> {
+                    if (selected.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    log.info("{} noticias de ultima hora com nota >= {} incluidas no envio",
+                            selected.size(), precomputeDeltaThreshold);
+                    return sendImmediately(selected, destinations);
+                })
+                .onErrorResume(error -> {
+                    log.error("Erro na verificacao de noticias de ultima hora: {}", error.getMessage());
+                    return Mono.just(0);
+                })
+                .contextWrite(Context.of(LlmBudgetScope.class, LlmBudgetScope.BREAKING))
+                .doFinally(signal -> usageTracker.finishRun(LlmBudgetScope.BREAKING));
+    }
+
+    private Mono<Integer> sendImmediately(List<NewsArticle> selected, List<String> destinations) {
+        return Flux.fromIterable(selected)
+                .concatMap(newsArticlePersistenceService::saveArticle)
+                .collectList()
+                .flatMap(saved -> discordBatchProcessor.processAndSendToDiscord(saved, destinations))
+                .timeout(Duration.ofMinutes(5))
+                .map(List::size)
+                .onErrorResume(error -> {
+                    log.error("Erro ao enviar noticias imediatamente: {}", error.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    private boolean isPreparedForNow() {
+        ZonedDateTime prepared = preparedFor;
+        return precomputeEnabled && prepared != null
+                && Duration.between(prepared, ZonedDateTime.now(prepared.getZone())).abs().compareTo(precomputeLeadTime) < 0;
+    }
+
+    private synchronized int remainingBreakingSlots() {
+        LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
+        while (!breakingDeliveries.isEmpty() && breakingDeliveries.peekFirst().isBefore(hourAgo)) {
+            breakingDeliveries.pollFirst();
+        }
+        return Math.max(0, breakingMaxPerHour - breakingDeliveries.size());
+    }
+
+    private synchronized void recordBreakingDeliveries(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            breakingDeliveries.addLast(now);
+        }
+    }
+
+    private List<String> webhookDestinations() {
+        List<String> configured = new ArrayList<>();
+        configured.add(webhookUrl);
+        if (webhookUrls != null) {
+            configured.addAll(webhookUrls);
+        }
+        return configured.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+
+    private Mono<Void> deliverToDiscord(Mono<List<NewsArticle>> delivery, int selectedCount) {
+        return delivery
                 .timeout(Duration.ofMinutes(15))
                 .doOnError(e -> {
                     if (e instanceof java.util.concurrent.TimeoutException) {
@@ -111,22 +452,16 @@ public class DailyNewsScheduler {
                     log.warn("Erro no processamento do Discord, continuando com 0 artigos: {}", e.getMessage());
                     return Mono.just(new ArrayList<>());
                 })
-                .flatMap(successfulArticles -> {
+                .doOnNext(successfulArticles -> {
                     if (successfulArticles.isEmpty()) {
                         log.warn("Nenhum artigo foi enviado com sucesso para o Discord");
-                        return Mono.empty();
+                        return;
                     }
 
-                    log.info("{} de {} artigos foram enviados com sucesso para o Discord", 
-                            successfulArticles.size(), selectedArticles.size());
-
-                    return newsArticlePersistenceService.markArticlesAsSent(successfulArticles)
-                            .timeout(Duration.ofMinutes(2))
-                            .onErrorResume(e -> {
-                                log.error("Erro ao marcar artigos como enviados: {}", e.getMessage());
-                                return Mono.empty();
-                            });
+                    log.info("{} de {} artigos foram enviados com sucesso para o Discord",
+                            successfulArticles.size(), selectedCount);
                 })
+                .then()
                 .doOnSuccess(v -> log.info("Processamento e envio concluido com sucesso"));
     }
 }
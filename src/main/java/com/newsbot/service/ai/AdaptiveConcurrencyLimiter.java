@@ -0,0 +1,187 @@
+package com.newsbot.service.ai;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double OVERLOAD_BACKOFF = 0.5;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final int LATENCY_WARMUP_SAMPLES = 5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencySpikeRatio;
+    private final Map<LlmPriority, Queue<Pending>> waiting = new EnumMap<>(LlmPriority.class);
+
+    private double limit;
+    private int inFlight;
+    private double averageLatencyMs;
+    private long latencySamples;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.ai.gateway.initial-concurrency:4}") int initialLimit,
+                                      @Value("${app.ai.gateway.min-concurrency:1}") int minLimit,
+                                      @Value("${app.ai.gateway.max-concurrency:16}") int maxLimit,
+                                      @Value("${app.ai.gateway.latency-spike-ratio:2.0}") double latencySpikeRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencySpikeRatio = latencySpikeRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        for (LlmPriority priority : LlmPriority.values()) {
+            waiting.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    public Mono<Permit> acquire(LlmPriority priority) {
+        return Mono.create(sink -> {
+            Pending pending = new Pending(sink, priority);
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < (int) limit;
+                if (granted) {
+                    inFlight++;
+                    pending.permit = new Permit();
+                } else {
+                    waiting.get(priority).add(pending);
+                }
+            }
+
+            if (granted) {
+                sink.success(pending.permit);
+                return;
+            }
+            sink.onCancel(() -> cancel(pending));
+        });
+    }
+
+    public synchronized int currentLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("llm.gateway.concurrency.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Limite adaptativo de chamadas simultâneas à IA")
+                .register(registry);
+        Gauge.builder("llm.gateway.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Chamadas à IA em andamento")
+                .register(registry);
+    }
+
+    private void cancel(Pending pending) {
+        Permit granted;
+        synchronized (this) {
+            if (waiting.get(pending.priority).remove(pending)) {
+                return;
+            }
+            granted = pending.permit;
+        }
+        if (granted != null) {
+            granted.release(Outcome.IGNORED);
+        }
+    }
+
+    private void onRelease(Outcome outcome, long latencyMs) {
+        List<Pending> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            adjust(outcome, latencyMs);
+            Pending next;
+            while (inFlight < (int) limit && (next = pollNext()) != null) {
+                inFlight++;
+                next.permit = new Permit();
+                granted.add(next);
+            }
+        }
+
+        for (Pending pending : granted) {
+            pending.sink.success(pending.permit);
+        }
+    }
+
+    private Pending pollNext() {
+        for (LlmPriority priority : LlmPriority.values()) {
+            Pending pending = waiting.get(priority).poll();
+            if (pending != null) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private void adjust(Outcome outcome, long latencyMs) {
+        double previous = limit;
+        switch (outcome) {
+            case OVERLOADED -> limit = Math.max(minLimit, limit * OVERLOAD_BACKOFF);
+            case SUCCESS -> {
+                boolean spike = latencySamples >= LATENCY_WARMUP_SAMPLES
+                        && latencyMs > averageLatencyMs * latencySpikeRatio;
+                averageLatencyMs = latencySamples == 0
+                        ? latencyMs
+                        : averageLatencyMs + LATENCY_SMOOTHING * (latencyMs - averageLatencyMs);
+                latencySamples++;
+                limit = spike
+                        ? Math.max(minLimit, limit * LATENCY_BACKOFF)
+                        : Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            case IGNORED -> { }
+        }
+
+        if ((int) previous != (int) limit) {
+            log.debug("Limite de concorrência da IA ajustado de {} para {} ({}, latência {}ms, média {}ms)",
+                    (int) previous, (int) limit, outcome, latencyMs, Math.round(averageLatencyMs));
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        OVERLOADED,
+        IGNORED
+    }
+
+    private static final class Pending {
+        private final MonoSink<Permit> sink;
+        private final LlmPriority priority;
+        private Permit permit;
+
+        private Pending(MonoSink<Permit> sink, LlmPriority priority) {
+            this.sink = sink;
+            this.priority = priority;
+        }
+    }
+
+    public final class Permit {
+        private final long grantedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(outcome, (System.nanoTime() - grantedAt) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.service.prompt.PromptBudgetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class LlmGateway {
+
+    private final ChatClient chatClient;
+    private final LlmModelRouter router;
+    private final LlmUsageTracker usageTracker;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final LlmRateLimiter rateLimiter;
+    private final PromptBudgetService promptBudget;
+    private final Duration timeout;
+    private final int maxRetries;
+
+    @Value("${spring.ai.openai.chat.options.model:gpt-4o-mini}")
+    private String defaultModel;
+
+    @Value("${app.ai.rate-limit.default-completion-tokens:400}")
+    private int defaultCompletionTokens;
+
+    @Value("${app.ai.rate-limit.penalty:10s}")
+    private Duration rateLimitPenalty;
+
+    @Value("${app.ai.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${app.ai.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${app.ai.hedging.max-ratio:0.1}")
+    private double hedgingMaxRatio;
+
+    @Value("${app.ai.hedging.min-samples:20}")
+    private int hedgingMinSamples;
+
+    @Value("${app.ai.hedging.min-delay:2s}")
+    private Duration hedgingMinDelay;
+
+    private static final int LATENCY_WINDOW = 200;
+
+    private final Map<LlmTask, LatencyTracker> latencies = new EnumMap<>(LlmTask.class);
+    private final AtomicLong hedgeableCalls = new AtomicLong();
+    private final AtomicLong hedgedCalls = new AtomicLong();
+
+    public LlmGateway(ChatClient chatClient,
+                      LlmModelRouter router,
+                      LlmUsageTracker usageTracker,
+                      AdaptiveConcurrencyLimiter limiter,
+                      LlmRateLimiter rateLimiter,
+                      PromptBudgetService promptBudget,
+                      @Value("${app.ai.gateway.timeout:120s}") Duration timeout,
+                      @Value("${app.ai.gateway.max-retries:2}") int maxRetries) {
+        this.chatClient = chatClient;
+        this.router = router;
+        this.usageTracker = usageTracker;
+        this.limiter = limiter;
+        this.rateLimiter = rateLimiter;
+        this.promptBudget = promptBudget;
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        for (LlmTask task : LlmTask.values()) {
+            latencies.put(task, new LatencyTracker(LATENCY_WINDOW));
+        }
+    }
+
+    public Mono<String> call(LlmTask task, boolean escalate, String systemPrompt, String userPrompt) {
+        return Mono.deferContextual(context -> {
+            LlmBudgetScope scope = budgetScope(context);
+            if (!usageTracker.allows(task, scope)) {
+                return Mono.error(budgetExceeded(task));
+            }
+            boolean economy = usageTracker.isLow(scope);
+            LlmModelRouter.Route route = router.select(task, escalate && !economy, economy);
+            return callWithRoute(task, scope, route, systemPrompt, userPrompt)
+                    .onErrorResume(error -> {
+                        LlmModelRouter.Route failover = router.failover(task, route);
+                        if (failover == null || !usageTracker.allows(task, scope)) {
+                            return Mono.error(error);
+                        }
+                        log.warn("Perfil '{}' falhou para {} ({}), tentando perfil alternativo '{}'",
+                                route.name(), task.configKey(), error.getMessage(), failover.name());
+                        return callWithRoute(task, scope, failover, systemPrompt, userPrompt);
+                    });
+        });
+    }
+
+    public Mono<Boolean> canEscalate(LlmTask task) {
+        return Mono.deferContextual(context ->
+                Mono.just(router.canEscalate(task) && !usageTracker.isLow(budgetScope(context))));
+    }
+
+    public boolean hasBudget(LlmTask task) {
+        return usageTracker.allows(task);
+    }
+
+    public boolean hasBudget(LlmTask task, LlmBudgetScope scope) {
+        return usageTracker.allows(task, scope);
+    }
+
+    public Mono<String> model(LlmTask task) {
+        return Mono.deferContextual(context -> {
+            LlmModelRouter.Route route = router.select(task, false, usageTracker.isLow(budgetScope(context)));
+            if (route == null || route.options() == null || route.options().getModel() == null) {
+                return Mono.just(defaultModel);
+            }
+            return Mono.just(route.options().getModel());
+        });
+    }
+
+    public double minCoverage(LlmTask task) {
+        return router.minCoverage(task);
+    }
+
+    private Mono<String> callWithRoute(LlmTask task, LlmBudgetScope scope, LlmModelRouter.Route route,
+                                       String systemPrompt, String userPrompt) {
+        Mono<String> attempt = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return withPermit(systemPrompt, userPrompt, task.priority(),
+                    content(task, route, systemPrompt, userPrompt)
+                            .collect(Collectors.joining())
+                            .timeout(timeout)
+                            .flux())
+                    .next()
+                    .doOnSuccess(response -> router.recordLatency(task, route, (System.nanoTime() - start) / 1_000_000));
+        });
+
+        return Mono.defer(() -> hedged(attempt, task, scope))
+                .retryWhen(retrySpec());
+    }
+
+    private Mono<String> hedged(Mono<String> attempt, LlmTask task, LlmBudgetScope scope) {
+        LatencyTracker tracker = latencies.get(task);
+        long start = System.nanoTime();
+        Mono<String> primary = attempt.doOnSuccess(response -> {
+            if (response != null) {
+                tracker.record((System.nanoTime() - start) / 1_000_000);
+            }
+        });
+
+        if (!hedgingEnabled || tracker.count() < hedgingMinSamples || usageTracker.isLow(scope)) {
+            return primary;
+        }
+
+        hedgeableCalls.incrementAndGet();
+        Duration hedgeDelay = Duration.ofMillis(Math.max(hedgingMinDelay.toMillis(), tracker.percentile(hedgingPercentile)));
+        Sinks.One<Boolean> primaryDone = Sinks.one();
+
+        Mono<String> hedge = Mono.delay(hedgeDelay)
+                .takeUntilOther(primaryDone.asMono())
+                .flatMap(tick -> {
+                    if (!tryStartHedge()) {
+                        return Mono.empty();
+                    }
+                    log.info("Chamada à IA sem resposta após {}ms, enviando requisição paralela", hedgeDelay.toMillis());
+                    return attempt;
+                });
+
+        return Mono.firstWithValue(primary.doFinally(signal -> primaryDone.tryEmitValue(true)), hedge)
+                .onErrorMap(NoSuchElementException.class, this::unwrapHedgeError);
+    }
+
+    private Throwable unwrapHedgeError(NoSuchElementException error) {
+        List<Throwable> causes = new ArrayList<>(List.of(error.getSuppressed()));
+        if (error.getCause() != null) {
+            causes.addAll(Exceptions.unwrapMultiple(error.getCause()));
+        }
+        return causes.stream()
+                .filter(cause -> !(cause instanceof NoSuchElementException))
+                .findFirst()
+                .orElse(error);
+    }
+
+    private boolean tryStartHedge() {
+        long hedged = hedgedCalls.incrementAndGet();
+        if (hedged > Math.max(1, hedgingMaxRatio * hedgeableCalls.get())) {
+            hedgedCalls.decrementAndGet();
+            log.debug("Limite de requisições paralelas atingido ({} de {} chamadas)", hedged - 1, hedgeableCalls.get());
+            return false;
+        }
+        return true;
+    }
+
+    public <T> Mono<T> entity(LlmTask task, boolean escalate, String systemPrompt, String userPrompt, Class<T> type) {
+        BeanOutputConverter<T> converter = new BeanOutputConverter<>(type);
+        return call(task, escalate, systemPrompt, userPrompt + "\n" + converter.getFormat())
+                .map(converter::convert);
+    }
+
+    public Flux<String> stream(LlmTask task, boolean escalate, String systemPrompt, String userPrompt) {
+        return Flux.deferContextual(context -> {
+            LlmBudgetScope scope = budgetScope(context);
+            if (!usageTracker.allows(task, scope)) {
+                return Flux.error(budgetExceeded(task));
+            }
+            boolean economy = usageTracker.isLow(scope);
+            LlmModelRouter.Route route = router.select(task, escalate && !economy, economy);
+            long start = System.nanoTime();
+            return withPermit(systemPrompt, userPrompt, task.priority(),
+                    content(task, route, systemPrompt, userPrompt).timeout(timeout))
+                    .doOnComplete(() -> router.recordLatency(task, route, (System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    public RetryBackoffSpec retrySpec() {
+        return Retry.backoff(maxRetries, Duration.ofSeconds(3))
+                .maxBackoff(Duration.ofSeconds(10))
+                .filter(this::isRetryableError);
+    }
+
+    public boolean isRetryableError(Throwable error) {
+        if (isOverload(error)) return true;
+        if (error instanceof InterruptedException) return true;
+        if (error instanceof java.net.SocketTimeoutException) return true;
+        if (error instanceof java.io.IOException) return true;
+        if (error instanceof org.springframework.web.client.ResourceAccessException) return true;
+
+        String msg = error.getMessage();
+        return msg != null && (
+                msg.contains("timeout") ||
+                msg.contains("I/O error") ||
+                msg.contains("Connection reset") ||
+                msg.contains("ReadTimeout") ||
+                msg.contains("ConnectException")
+        );
+    }
+
+    public boolean isOverload(Throwable error) {
+        if (error instanceof TimeoutException) return true;
+        if (error instanceof WebClientResponseException e) return isOverloadStatus(e.getStatusCode().value());
+        if (error instanceof RestClientResponseException e) return isOverloadStatus(e.getStatusCode().value());
+
+        String msg = error.getMessage();
+        return msg != null && (
+                msg.contains("429") ||
+                msg.contains("Too Many Requests") ||
+                msg.contains("rate limit") ||
+                msg.contains("503 Service Unavailable")
+        );
+    }
+
+    private boolean isRateLimited(Throwable error) {
+        if (error instanceof WebClientResponseException e) return e.getStatusCode().value() == 429;
+        if (error instanceof RestClientResponseException e) return e.getStatusCode().value() == 429;
+
+        String msg = error.getMessage();
+        return msg != null && (msg.contains("429") || msg.contains("Too Many Requests") || msg.contains("rate limit"));
+    }
+
+    private Duration retryAfter(Throwable error) {
+        String retryAfter = null;
+        if (error instanceof WebClientResponseException e) {
+            retryAfter = e.getHeaders().getFirst("Retry-After");
+        } else if (error instanceof RestClientResponseException e && e.getResponseHeaders() != null) {
+            retryAfter = e.getResponseHeaders().getFirst("Retry-After");
+        }
+
+        if (retryAfter != null) {
+            try {
+                return Duration.ofSeconds(Math.max(1, Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException ignored) {
+                log.debug("Cabeçalho Retry-After não numérico: {}", retryAfter);
+            }
+        }
+        return rateLimitPenalty;
+    }
+
+    private boolean isOverloadStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private LlmBudgetScope budgetScope(ContextView context) {
+        return context.getOrDefault(LlmBudgetScope.class, LlmBudgetScope.DAILY);
+    }
+
+    private IllegalStateException budgetExceeded(LlmTask task) {
+        return new IllegalStateException("Orçamento de tokens da IA esgotado para " + task.configKey());
+    }
+
+    private Flux<String> content(LlmTask task, LlmModelRouter.Route route, String systemPrompt, String userPrompt) {
+        ChatClient.ChatClientRequestSpec request = chatClient.prompt();
+        if (route != null && route.options() != null) {
+            request = request.options(route.options());
+        }
+        if (systemPrompt != null) {
+            request = request.system(systemPrompt);
+        }
+        return request.user(userPrompt)
+                .stream()
+                .content()
+                .contextWrite(Context.of(LlmTask.class, task));
+    }
+
+    private <T> Flux<T> withPermit(String systemPrompt, String userPrompt, LlmPriority priority, Flux<T> call) {
+        int estimatedTokens = promptBudget.estimateMessageTokens(systemPrompt != null ? systemPrompt : "", userPrompt)
+                + defaultCompletionTokens;
+
+        return rateLimiter.acquire(estimatedTokens, priority)
+                .then(limiter.acquire(priority))
+                .flatMapMany(permit -> {
+                    AtomicBoolean received = new AtomicBoolean();
+                    return call
+                            .doOnNext(chunk -> received.set(true))
+                            .doOnComplete(() -> permit.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS))
+                            .doOnError(e -> {
+                                boolean overloaded = isOverload(e);
+                                if (overloaded) {
+                                    log.warn("IA sobrecarregada ({}), reduzindo concorrência", e.getMessage());
+                                }
+                                if (isRateLimited(e)) {
+                                    rateLimiter.penalize(retryAfter(e));
+                                }
+                                permit.release(overloaded
+                                        ? AdaptiveConcurrencyLimiter.Outcome.OVERLOADED
+                                        : AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+                            })
+                            .doOnCancel(() -> permit.release(received.get()
+                                    ? AdaptiveConcurrencyLimiter.Outcome.SUCCESS
+                                    : AdaptiveConcurrencyLimiter.Outcome.IGNORED));
+                });
+    }
+}
@@ -0,0 +1,122 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiRoutingConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmModelRouter {
+
+    private static final int LATENCY_WINDOW = 20;
+    private static final int MIN_LATENCY_SAMPLES = 5;
+
+    private final AiRoutingConfig routingConfig;
+
+    private final Map<String, LatencyTracker> profileLatencies = new ConcurrentHashMap<>();
+    private final Map<String, Instant> degradedUntil = new ConcurrentHashMap<>();
+
+    public Route select(LlmTask task, boolean escalate, boolean economy) {
+        AiRoutingConfig.TaskRoute taskRoute = taskRoute(task);
+        if (taskRoute == null) {
+            return null;
+        }
+
+        if (economy && taskRoute.getEconomy() != null) {
+            return route(taskRoute.getEconomy());
+        }
+        if (escalate && taskRoute.getEscalation() != null) {
+            return route(taskRoute.getEscalation());
+        }
+        if (taskRoute.getFailover() != null && isDegraded(taskRoute.getPrimary())) {
+            return route(taskRoute.getFailover());
+        }
+        return route(taskRoute.getPrimary());
+    }
+
+    public Route failover(LlmTask task, Route failed) {
+        AiRoutingConfig.TaskRoute taskRoute = taskRoute(task);
+        if (taskRoute == null || failed == null || taskRoute.getFailover() == null
+                || taskRoute.getFailover().equals(failed.name())) {
+            return null;
+        }
+
+        markDegraded(failed.name());
+        return route(taskRoute.getFailover());
+    }
+
+    public boolean canEscalate(LlmTask task) {
+        AiRoutingConfig.TaskRoute taskRoute = taskRoute(task);
+        return taskRoute != null && taskRoute.getEscalation() != null
+                && !taskRoute.getEscalation().equals(taskRoute.getPrimary());
+    }
+
+    public double minCoverage(LlmTask task) {
+        AiRoutingConfig.TaskRoute taskRoute = taskRoute(task);
+        return taskRoute != null ? taskRoute.getMinCoverage() : 0;
+    }
+
+    public void recordLatency(LlmTask task, Route route, long latencyMs) {
+        AiRoutingConfig.TaskRoute taskRoute = taskRoute(task);
+        if (route == null || taskRoute == null || !route.name().equals(taskRoute.getPrimary())
+                || taskRoute.getFailover() == null) {
+            return;
+        }
+
+        LatencyTracker tracker = profileLatencies.computeIfAbsent(route.name(), name -> new LatencyTracker(LATENCY_WINDOW));
+        tracker.record(latencyMs);
+        if (tracker.count() >= MIN_LATENCY_SAMPLES
+                && tracker.percentile(0.5) > taskRoute.getDegradedLatency().toMillis()) {
+            log.warn("Latência mediana do perfil '{}' acima de {}ms para {}, alternando para '{}'",
+                    route.name(), taskRoute.getDegradedLatency().toMillis(), task.configKey(), taskRoute.getFailover());
+            markDegraded(route.name());
+        }
+    }
+
+    private void markDegraded(String profileName) {
+        degradedUntil.put(profileName, Instant.now().plus(routingConfig.getFailoverCooldown()));
+        profileLatencies.remove(profileName);
+    }
+
+    private boolean isDegraded(String profileName) {
+        Instant until = degradedUntil.get(profileName);
+        if (until == null) {
+            return false;
+        }
+        if (Instant.now().isAfter(until)) {
+            degradedUntil.remove(profileName, until);
+            log.info("Perfil de modelo '{}' volta a ser usado após o período de espera", profileName);
+            return false;
+        }
+        return true;
+    }
+
+    private AiRoutingConfig.TaskRoute taskRoute(LlmTask task) {
+        if (!routingConfig.isEnabled()) {
+            return null;
+        }
+        AiRoutingConfig.TaskRoute taskRoute = routingConfig.getTasks().get(task.configKey());
+        return taskRoute != null && taskRoute.getPrimary() != null ? taskRoute : null;
+    }
+
+    private Route route(String profileName) {
+        AiRoutingConfig.ModelProfile profile = routingConfig.getProfiles().get(profileName);
+        if (profile == null) {
+            log.warn("Perfil de modelo '{}' não configurado, usando o modelo padrão", profileName);
+            return new Route(profileName, null);
+        }
+        return new Route(profileName, ChatOptions.builder()
+                .model(profile.getModel())
+                .temperature(profile.getTemperature())
+                .build());
+    }
+
+    public record Route(String name, ChatOptions options) {}
+}
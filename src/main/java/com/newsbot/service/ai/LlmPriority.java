@@ -0,0 +1,6 @@
+package com.newsbot.service.ai;
+
+public enum LlmPriority {
+    HIGH,
+    LOW
+}
@@ -0,0 +1,156 @@
+package com.newsbot.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class LlmRateLimiter {
+
+    private static final double NANOS_PER_MINUTE = 60_000_000_000.0;
+    private static final long MIN_WAIT_NANOS = 1_000_000;
+
+    private final boolean enabled;
+    private final double requestsPerMinute;
+    private final double tokensPerMinute;
+    private final Map<LlmPriority, Queue<Waiter>> waiting = new EnumMap<>(LlmPriority.class);
+
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+    private boolean drainScheduled;
+
+    public LlmRateLimiter(@Value("${app.ai.rate-limit.enabled:false}") boolean enabled,
+                          @Value("${app.ai.rate-limit.requests-per-minute:500}") int requestsPerMinute,
+                          @Value("${app.ai.rate-limit.tokens-per-minute:200000}") int tokensPerMinute) {
+        this.enabled = enabled;
+        this.requestsPerMinute = Math.max(1, requestsPerMinute);
+        this.tokensPerMinute = Math.max(1, tokensPerMinute);
+        this.availableRequests = this.requestsPerMinute;
+        this.availableTokens = this.tokensPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+        for (LlmPriority priority : LlmPriority.values()) {
+            waiting.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    public Mono<Void> acquire(int estimatedTokens, LlmPriority priority) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, Math.min(Math.max(1, estimatedTokens), tokensPerMinute));
+            synchronized (this) {
+                waiting.get(priority).add(waiter);
+            }
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    waiting.get(priority).remove(waiter);
+                }
+            });
+            drain();
+        });
+    }
+
+    public void penalize(Duration pause) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            blockedUntilNanos = Math.max(blockedUntilNanos, System.nanoTime() + pause.toNanos());
+            availableRequests = 0;
+        }
+        log.warn("Limite de taxa da IA atingido, pausando novas chamadas por {}s", pause.toSeconds());
+        drain();
+    }
+
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        long waitNanos = 0;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+
+            Waiter next;
+            while ((next = peekNext()) != null) {
+                if (now < blockedUntilNanos) {
+                    waitNanos = blockedUntilNanos - now;
+                    break;
+                }
+                if (availableRequests < 1 || availableTokens < next.tokens) {
+                    waitNanos = nanosUntilAvailable(next.tokens);
+                    break;
+                }
+                pollNext();
+                availableRequests -= 1;
+                availableTokens -= next.tokens;
+                ready.add(next);
+            }
+
+            if (waitNanos > 0 && !drainScheduled) {
+                drainScheduled = true;
+                log.debug("Limite de taxa da IA: aguardando {}ms para liberar a próxima chamada", waitNanos / 1_000_000);
+                Schedulers.parallel().schedule(() -> {
+                    synchronized (this) {
+                        drainScheduled = false;
+                    }
+                    drain();
+                }, Math.max(MIN_WAIT_NANOS, waitNanos), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        for (Waiter waiter : ready) {
+            waiter.sink.success();
+        }
+    }
+
+    private void refill(long now) {
+        double elapsedMinutes = (now - lastRefillNanos) / NANOS_PER_MINUTE;
+        lastRefillNanos = now;
+        availableRequests = Math.min(requestsPerMinute, availableRequests + elapsedMinutes * requestsPerMinute);
+        availableTokens = Math.min(tokensPerMinute, availableTokens + elapsedMinutes * tokensPerMinute);
+    }
+
+    private long nanosUntilAvailable(double tokens) {
+        double requestWait = Math.max(0, 1 - availableRequests) / requestsPerMinute;
+        double tokenWait = Math.max(0, tokens - availableTokens) / tokensPerMinute;
+        return (long) (Math.max(requestWait, tokenWait) * NANOS_PER_MINUTE);
+    }
+
+    private Waiter peekNext() {
+        for (LlmPriority priority : LlmPriority.values()) {
+            Waiter waiter = waiting.get(priority).peek();
+            if (waiter != null) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void pollNext() {
+        for (LlmPriority priority : LlmPriority.values()) {
+            if (waiting.get(priority).poll() != null) {
+                return;
+            }
+        }
+    }
+
+    private record Waiter(MonoSink<Void> sink, double tokens) {}
+}
@@ -0,0 +1,23 @@
+package com.newsbot.service.ai;
+
+public enum LlmTask {
+    SCORING("scoring", LlmPriority.LOW),
+    FUSED("fused", LlmPriority.LOW),
+    TRANSLATION("translation", LlmPriority.HIGH);
+
+    private final String configKey;
+    private final LlmPriority priority;
+
+    LlmTask(String configKey, LlmPriority priority) {
+        this.configKey = configKey;
+        this.priority = priority;
+    }
+
+    public String configKey() {
+        return configKey;
+    }
+
+    public LlmPriority priority() {
+        return priority;
+    }
+}
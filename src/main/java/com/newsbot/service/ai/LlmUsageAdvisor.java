@@ -0,0 +1,104 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.service.prompt.PromptBudgetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+@Component
+@RequiredArgsConstructor
+public class LlmUsageAdvisor implements StreamAdvisor {
+
+    private final LlmUsageTracker usageTracker;
+    private final PromptBudgetService promptBudget;
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        return Flux.deferContextual(context -> {
+            LlmTask task = context.getOrDefault(LlmTask.class, null);
+            LlmBudgetScope scope = context.getOrDefault(LlmBudgetScope.class, LlmBudgetScope.DAILY);
+            StreamUsage usage = new StreamUsage(requestModel(request));
+
+            return chain.nextStream(request)
+                    .doOnNext(response -> usage.accept(response.chatResponse()))
+                    .doOnTerminate(() -> record(task, scope, request, usage))
+                    .doOnCancel(() -> record(task, scope, request, usage));
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "llmUsageAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private void record(LlmTask task, LlmBudgetScope scope, ChatClientRequest request, StreamUsage usage) {
+        synchronized (usage) {
+            recordUsage(task, scope, request, usage);
+        }
+    }
+
+    private void recordUsage(LlmTask task, LlmBudgetScope scope, ChatClientRequest request, StreamUsage usage) {
+        if (usage.promptTokens > 0 || usage.completionTokens > 0) {
+            usageTracker.record(task, scope, usage.model, usage.promptTokens, usage.completionTokens, false);
+            return;
+        }
+        long promptTokens = promptBudget.estimateTokens(request.prompt().getContents());
+        long completionTokens = promptBudget.estimateTokens(usage.text.toString());
+        usageTracker.record(task, scope, usage.model, promptTokens, completionTokens, true);
+    }
+
+    private String requestModel(ChatClientRequest request) {
+        if (request.prompt().getOptions() != null && request.prompt().getOptions().getModel() != null) {
+            return request.prompt().getOptions().getModel();
+        }
+        return "default";
+    }
+
+    private static class StreamUsage {
+
+        private final StringBuilder text = new StringBuilder();
+        private String model;
+        private long promptTokens;
+        private long completionTokens;
+
+        private StreamUsage(String model) {
+            this.model = model;
+        }
+
+        private synchronized void accept(ChatResponse response) {
+            if (response == null) {
+                return;
+            }
+            if (response.getResult() != null && response.getResult().getOutput().getText() != null) {
+                text.append(response.getResult().getOutput().getText());
+            }
+            if (response.getMetadata() == null) {
+                return;
+            }
+            String responseModel = response.getMetadata().getModel();
+            if (responseModel != null && !responseModel.isBlank()) {
+                model = responseModel;
+            }
+            Usage usage = response.getMetadata().getUsage();
+            if (usage != null) {
+                promptTokens = Math.max(promptTokens, value(usage.getPromptTokens()));
+                completionTokens = Math.max(completionTokens, value(usage.getCompletionTokens()));
+            }
+        }
+
+        private static long value(Integer tokens) {
+            return tokens != null ? tokens : 0;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiBudgetConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmUsageTracker implements MeterBinder {
+
+    private final AiBudgetConfig budgetConfig;
+
+    private volatile MeterRegistry registry;
+
+    private LocalDate day;
+    private long dailyTokens;
+    private final Map<LlmBudgetScope, RunUsage> runs = new EnumMap<>(LlmBudgetScope.class);
+
+    public void record(LlmTask task, String model, long promptTokens, long completionTokens, boolean estimated) {
+        record(task, LlmBudgetScope.DAILY, model, promptTokens, completionTokens, estimated);
+    }
+
+    public void record(LlmTask task, LlmBudgetScope scope, String model, long promptTokens, long completionTokens,
+                       boolean estimated) {
+        long total = promptTokens + completionTokens;
+        double cost = cost(model, promptTokens, completionTokens);
+
+        synchronized (this) {
+            rollDay();
+            dailyTokens += total;
+            RunUsage run = run(scope);
+            run.tokens += total;
+            run.cost += cost;
+            if (task != null) {
+                long[] usage = run.byTask.computeIfAbsent(task, t -> new long[2]);
+                usage[0] += promptTokens;
+                usage[1] += completionTokens;
+            }
+        }
+
+        String stage = task != null ? task.configKey() : "other";
+        log.debug("Uso da IA em {} ({}): {} tokens de entrada, {} de saída{}", stage, model,
+                promptTokens, completionTokens, estimated ? " (estimado)" : "");
+
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            tokenCounter(meterRegistry, stage, model, "prompt").increment(promptTokens);
+            tokenCounter(meterRegistry, stage, model, "completion").increment(completionTokens);
+            Counter.builder("llm.cost")
+                    .description("Custo estimado das chamadas à IA em dólares")
+                    .tag("task", stage)
+                    .tag("model", model)
+                    .register(meterRegistry)
+                    .increment(cost);
+        }
+    }
+
+    public void startRun() {
+        startRun(LlmBudgetScope.DAILY);
+    }
+
+    public synchronized void startRun(LlmBudgetScope scope) {
+        runs.put(scope, new RunUsage());
+    }
+
+    public void finishRun() {
+        finishRun(LlmBudgetScope.DAILY);
+    }
+
+    public synchronized void finishRun(LlmBudgetScope scope) {
+        RunUsage run = run(scope);
+        if (scope != LlmBudgetScope.DAILY && run.tokens == 0) {
+            return;
+        }
+        run.byTask.forEach((task, usage) -> log.info("Uso da IA na etapa {}: {} tokens de entrada, {} de saída",
+                task.configKey(), usage[0], usage[1]));
+        log.info("Uso da IA {}: {} tokens (US$ {}), {} tokens hoje",
+                scope == LlmBudgetScope.BREAKING ? "na verificação de notícias urgentes" : "nesta execução",
+                run.tokens, String.format("%.4f", run.cost), dailyTokens);
+    }
+
+    public boolean allows(LlmTask task) {
+        return allows(task, LlmBudgetScope.DAILY);
+    }
+
+    public synchronized boolean allows(LlmTask task, LlmBudgetScope scope) {
+        if (!budgetConfig.isEnabled()) {
+            return true;
+        }
+        rollDay();
+        if (budgetConfig.getDailyTokens() > 0 && dailyTokens >= budgetConfig.getDailyTokens()) {
+            return false;
+        }
+        long runBudget = runBudget(scope);
+        return task.priority() == LlmPriority.HIGH
+                || runBudget <= 0
+                || run(scope).tokens < runBudget;
+    }
+
+    public boolean isLow() {
+        return isLow(LlmBudgetScope.DAILY);
+    }
+
+    public synchronized boolean isLow(LlmBudgetScope scope) {
+        if (!budgetConfig.isEnabled()) {
+            return false;
+        }
+        rollDay();
+        return isLow(dailyTokens, budgetConfig.getDailyTokens()) || isLow(run(scope).tokens, runBudget(scope));
+    }
+
+    public synchronized long dailyTokens() {
+        rollDay();
+        return dailyTokens;
+    }
+
+    public long runTokens() {
+        return runTokens(LlmBudgetScope.DAILY);
+    }
+
+    public synchronized long runTokens(LlmBudgetScope scope) {
+        return run(scope).tokens;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("llm.budget.daily.used", this, LlmUsageTracker::dailyTokens)
+                .description("Tokens da IA consumidos hoje")
+                .register(registry);
+        Gauge.builder("llm.budget.run.used", this, LlmUsageTracker::runTokens)
+                .description("Tokens da IA consumidos na execução atual")
+                .register(registry);
+        Gauge.builder("llm.budget.breaking.used", this, tracker -> tracker.runTokens(LlmBudgetScope.BREAKING))
+                .description("Tokens da IA consumidos na verificação de notícias urgentes atual")
+                .register(registry);
+    }
+
+    private boolean isLow(long used, long budget) {
+        return budget > 0 && budget - used < budget * budgetConfig.getLowWatermark();
+    }
+
+    private RunUsage run(LlmBudgetScope scope) {
+        return runs.computeIfAbsent(scope, s -> new RunUsage());
+    }
+
+    private long runBudget(LlmBudgetScope scope) {
+        return scope == LlmBudgetScope.BREAKING ? budgetConfig.getBreakingRunTokens() : budgetConfig.getRunTokens();
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now(ZoneId.of(budgetConfig.getZone()));
+        if (!today.equals(day)) {
+            if (day != null) {
+                log.info("Novo dia: {} tokens da IA usados em {}", dailyTokens, day);
+            }
+            day = today;
+            dailyTokens = 0;
+        }
+    }
+
+    private double cost(String model, long promptTokens, long completionTokens) {
+        AiBudgetConfig.ModelPrice price = null;
+        int matched = -1;
+        for (Map.Entry<String, AiBudgetConfig.ModelPrice> entry : budgetConfig.getPrices().entrySet()) {
+            if (model.startsWith(entry.getKey()) && entry.getKey().length() > matched) {
+                price = entry.getValue();
+                matched = entry.getKey().length();
+            }
+        }
+        if (price == null) {
+            return 0;
+        }
+        return (promptTokens * price.getInputPerMillion() + completionTokens * price.getOutputPerMillion()) / 1_000_000;
+    }
+
+    private Counter tokenCounter(MeterRegistry meterRegistry, String stage, String model, String type) {
+        return Counter.builder("llm.tokens")
+                .description("Tokens enviados e recebidos da IA")
+                .tag("task", stage)
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static class RunUsage {
+
+        private long tokens;
+        private double cost;
+        private final Map<LlmTask, long[]> byTask = new EnumMap<>(LlmTask.class);
+    }
+}
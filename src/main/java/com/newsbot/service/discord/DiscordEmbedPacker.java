@@ -0,0 +1,65 @@
+package com.newsbot.service.discord;
+
+import com.newsbot.dto.Embed;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+class DiscordEmbedPacker {
+
+    static final int MAX_TITLE_LENGTH = 256;
+    static final int MAX_DESCRIPTION_LENGTH = 4096;
+    static final int MAX_TOTAL_CHARACTERS = 6000;
+
+    private final int maxEmbeds;
+    private final int maxCharacters;
+
+    DiscordEmbedPacker(int maxEmbeds, int maxCharacters) {
+        this.maxEmbeds = Math.max(1, maxEmbeds);
+        this.maxCharacters = maxCharacters;
+    }
+
+    <T> List<List<T>> pack(List<T> items, Function<T, Embed> embedOf) {
+        List<Integer> bySize = new ArrayList<>(items.size());
+        int[] sizes = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            sizes[i] = characters(embedOf.apply(items.get(i)));
+            bySize.add(i);
+        }
+        bySize.sort(Comparator.comparingInt((Integer i) -> sizes[i]).reversed());
+
+        List<List<Integer>> bins = new ArrayList<>();
+        List<Integer> binCharacters = new ArrayList<>();
+        for (int index : bySize) {
+            int bin = 0;
+            while (bin < bins.size()
+                    && (bins.get(bin).size() >= maxEmbeds || binCharacters.get(bin) + sizes[index] > maxCharacters)) {
+                bin++;
+            }
+            if (bin == bins.size()) {
+                bins.add(new ArrayList<>());
+                binCharacters.add(0);
+            }
+            bins.get(bin).add(index);
+            binCharacters.set(bin, binCharacters.get(bin) + sizes[index]);
+        }
+
+        bins.forEach(bin -> bin.sort(Comparator.naturalOrder()));
+        bins.sort(Comparator.comparingInt(bin -> bin.get(0)));
+
+        List<List<T>> messages = new ArrayList<>(bins.size());
+        for (List<Integer> bin : bins) {
+            messages.add(bin.stream().map(items::get).toList());
+        }
+        return messages;
+    }
+
+    static int characters(Embed embed) {
+        int count = 0;
+        if (embed.getTitle() != null) count += Math.min(embed.getTitle().length(), MAX_TITLE_LENGTH);
+        if (embed.getDescription() != null) count += Math.min(embed.getDescription().length(), MAX_DESCRIPTION_LENGTH);
+        return count;
+    }
+}
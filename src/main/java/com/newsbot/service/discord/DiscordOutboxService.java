@@ -0,0 +1,170 @@
+package com.newsbot.service.discord;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsbot.dto.Embed;
+import com.newsbot.model.DiscordOutboxEntry;
+import com.newsbot.model.NewsArticle;
+import com.newsbot.repository.DiscordOutboxRepository;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiscordOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final DiscordOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.discord.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.discord.outbox.drain-batch-size:200}")
+    private int drainBatchSize;
+
+    @Value("${app.discord.outbox.claim-timeout:15m}")
+    private Duration claimTimeout;
+
+    @Value("${app.discord.outbox.instance-id:newsbot}")
+    private String instanceId;
+
+    public Mono<List<String>> enqueue(NewsArticle article, Embed embed, List<String> webhookUrls) {
+        return enqueue(article, embed, webhookUrls, null);
+    }
+
+    public Mono<List<String>> enqueue(NewsArticle article, Embed embed, List<String> webhookUrls,
+                                      LocalDateTime notBefore) {
+        if (article.getId() == null) {
+            log.warn("Notícia '{}' sem id não pode entrar na fila de envio do Discord", article.getTitle());
+            return Mono.just(List.of());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimedAt = notBefore == null ? now : null;
+        String claimedBy = notBefore == null ? instanceId : null;
+
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(embed))
+                .flatMapMany(payload -> Flux.fromIterable(webhookUrls)
+                        .concatMap(url -> outboxRepository.enqueue(article.getId(), url, idempotencyKey(article, url),
+                                        payload, now, notBefore, claimedAt, claimedBy, now.minus(claimTimeout))
+                                .filter(count -> count > 0)
+                                .map(count -> url)))
+                .collectList()
+                .doOnError(error -> log.error("Erro ao gravar '{}' na fila de envio do Discord: {}",
+                        article.getTitle(), error.getMessage()));
+    }
+
+    public Mono<Void> acknowledge(List<NewsArticle> articles, String webhookUrl) {
+        return acknowledgeKeys(articles.stream()
+                .map(article -> idempotencyKey(article, webhookUrl))
+                .toList());
+    }
+
+    public Mono<Void> acknowledgeEntries(List<DiscordOutboxEntry> entries) {
+        return acknowledgeKeys(entries.stream()
+                .map(DiscordOutboxEntry::getIdempotencyKey)
+                .toList());
+    }
+
+    public Mono<Void> recordFailure(List<DiscordOutboxEntry> entries, String error) {
+        if (entries.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return outboxRepository.recordFailure(entries.stream().map(DiscordOutboxEntry::getIdempotencyKey).toList(),
+                        truncate(error))
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Erro ao registrar falha na fila de envio do Discord: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> recordAttempt(List<DiscordOutboxEntry> entries, String error) {
+        if (entries.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return outboxRepository.recordAttempt(entries.stream().map(DiscordOutboxEntry::getIdempotencyKey).toList(),
+                        truncate(error))
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Erro ao registrar tentativa na fila de envio do Discord: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Flux<DiscordOutboxEntry> claimPending() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxRepository.claimPending(maxAttempts, now, now.minus(claimTimeout), instanceId,
+                Math.max(1, drainBatchSize));
+    }
+
+    public Mono<Void> release(List<NewsArticle> articles, String webhookUrl) {
+        if (articles.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return outboxRepository.release(articles.stream().map(article -> idempotencyKey(article, webhookUrl)).toList(),
+                        instanceId)
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Erro ao liberar envios na fila do Discord: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Integer> releaseAll() {
+        return outboxRepository.releaseAll(instanceId)
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("{} envios reservados antes da reinicialização foram liberados na fila do Discord",
+                                count);
+                    }
+                });
+    }
+
+    public Embed embed(DiscordOutboxEntry entry) {
+        try {
+            return objectMapper.readValue(entry.getPayload(), Embed.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Payload inválido na fila de envio do Discord (id {}): {}", entry.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    String idempotencyKey(NewsArticle article, String webhookUrl) {
+        String content = article.getContentHash() != null ? article.getContentHash() : article.getUrl();
+        return ContentDuplicateDetector.sha256(content + "|" + webhookUrl);
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private Mono<Void> acknowledgeKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return outboxRepository.acknowledge(keys, LocalDateTime.now())
+                .doOnNext(count -> log.debug("{} envios confirmados na fila do Discord", keys.size()))
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Erro ao confirmar envios na fila do Discord: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
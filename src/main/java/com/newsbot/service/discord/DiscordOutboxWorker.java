@@ -0,0 +1,139 @@
+package com.newsbot.service.discord;
+
+import com.newsbot.dto.DiscordWebhookPayload;
+import com.newsbot.dto.Embed;
+import com.newsbot.model.DiscordOutboxEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiscordOutboxWorker {
+
+    private final DiscordOutboxService outboxService;
+    private final DiscordWebhookService discordService;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Value("${app.discord.max-embeds-per-message:10}")
+    private int maxEmbedsPerMessage;
+
+    private record PendingEmbed(DiscordOutboxEntry entry, Embed embed) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        outboxService.releaseAll()
+                .then(drain())
+                .subscribe(
+                        count -> {
+                            if (count > 0) {
+                                log.info("{} envios pendentes retomados da fila do Discord", count);
+                            }
+                        },
+                        error -> log.warn("Falha ao retomar a fila de envio do Discord: {}", error.getMessage())
+                );
+    }
+
+    @Scheduled(fixedDelayString = "${app.discord.outbox.claim-timeout:15m}",
+            initialDelayString = "${app.discord.outbox.claim-timeout:15m}")
+    public void drainPeriodically() {
+        drain().subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.info("{} envios pendentes reenviados pela fila do Discord", count);
+                    }
+                },
+                error -> log.warn("Falha ao processar a fila de envio do Discord: {}", error.getMessage())
+        );
+    }
+
+    public Mono<Integer> drain() {
+        if (!draining.compareAndSet(false, true)) {
+            log.debug("Fila de envio do Discord já está sendo processada");
+            return Mono.just(0);
+        }
+
+        return outboxService.claimPending()
+                .collectList()
+                .flatMapMany(entries -> {
+                    Map<String, List<PendingEmbed>> byWebhook = new LinkedHashMap<>();
+                    List<DiscordOutboxEntry> invalid = new ArrayList<>();
+                    for (DiscordOutboxEntry entry : entries) {
+                        Embed embed = outboxService.embed(entry);
+                        if (embed == null) {
+                            invalid.add(entry);
+                            continue;
+                        }
+                        byWebhook.computeIfAbsent(entry.getWebhookUrl(), url -> new ArrayList<>())
+                                .add(new PendingEmbed(entry, embed));
+                    }
+                    if (!byWebhook.isEmpty()) {
+                        log.info("Retomando {} envios pendentes para {} destino(s) do Discord",
+                                entries.size() - invalid.size(), byWebhook.size());
+                    }
+                    return outboxService.recordFailure(invalid, "Payload inválido")
+                            .thenMany(Flux.fromIterable(byWebhook.entrySet()));
+                })
+                .flatMap(destination -> drainWebhook(destination.getKey(), destination.getValue()))
+                .reduce(0, Integer::sum)
+                .doFinally(signal -> draining.set(false));
+    }
+
+    private Mono<Integer> drainWebhook(String webhookUrl, List<PendingEmbed> pending) {
+        DiscordEmbedPacker packer = new DiscordEmbedPacker(maxEmbedsPerMessage, DiscordEmbedPacker.MAX_TOTAL_CHARACTERS);
+
+        return Flux.fromIterable(packer.pack(pending, PendingEmbed::embed))
+                .concatMap(batch -> sendBatch(webhookUrl, batch))
+                .reduce(0, Integer::sum);
+    }
+
+    private Mono<Integer> sendBatch(String webhookUrl, List<PendingEmbed> batch) {
+        DiscordWebhookPayload payload = DiscordWebhookPayload.builder()
+                .embeds(batch.stream().map(PendingEmbed::embed).toList())
+                .build();
+
+        return discordService.sendEmbeds(webhookUrl, payload)
+                .timeout(Duration.ofSeconds(60))
+                .flatMap(sent -> {
+                    Set<Embed> sentEmbeds = Collections.newSetFromMap(new IdentityHashMap<>());
+                    sentEmbeds.addAll(sent);
+                    List<DiscordOutboxEntry> delivered = batch.stream()
+                            .filter(item -> sentEmbeds.contains(item.embed()))
+                            .map(PendingEmbed::entry)
+                            .toList();
+                    List<DiscordOutboxEntry> rejected = batch.stream()
+                            .filter(item -> !sentEmbeds.contains(item.embed()))
+                            .map(PendingEmbed::entry)
+                            .toList();
+                    return outboxService.acknowledgeEntries(delivered)
+                            .then(outboxService.recordFailure(rejected, "Embed descartado pelo limite do Discord"))
+                            .thenReturn(delivered.size());
+                })
+                .onErrorResume(error -> {
+                    log.error("Erro ao reenviar lote pendente para o Discord: {}", error.getMessage());
+                    List<DiscordOutboxEntry> entries = batch.stream().map(PendingEmbed::entry).toList();
+                    if (!DiscordWebhookService.isRejected(error)) {
+                        return outboxService.recordAttempt(entries, error.getMessage()).thenReturn(0);
+                    }
+                    return outboxService.recordFailure(entries, error.getMessage()).thenReturn(0);
+                });
+    }
+}
@@ -0,0 +1,145 @@
+package com.newsbot.service.discord;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class DiscordRateLimiter {
+
+    private static final Duration UNKNOWN_BUCKET_POLL = Duration.ofMillis(100);
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private long globalResetAt;
+
+    public Mono<Void> acquire(String webhookUrl) {
+        return Mono.defer(() -> {
+            Duration wait = tryAcquire(webhookUrl);
+            if (wait.isZero()) {
+                return Mono.empty();
+            }
+            log.debug("Aguardando {}ms pelo limite de taxa do Discord", wait.toMillis());
+            return Mono.delay(wait).then(acquire(webhookUrl));
+        });
+    }
+
+    public synchronized void update(String webhookUrl, int status, HttpHeaders headers) {
+        Bucket bucket = bucket(webhookUrl);
+        long now = System.nanoTime();
+        bucket.inFlight = Math.max(0, bucket.inFlight - 1);
+
+        Integer limit = intHeader(headers, "X-RateLimit-Limit");
+        Integer remaining = intHeader(headers, "X-RateLimit-Remaining");
+        Duration resetAfter = durationHeader(headers, "X-RateLimit-Reset-After");
+
+        if (limit != null) {
+            bucket.limit = limit;
+        }
+        if (remaining != null) {
+            bucket.remaining = Math.max(0, remaining - bucket.inFlight);
+        }
+        if (resetAfter != null) {
+            bucket.resetAt = now + resetAfter.toNanos();
+        }
+
+        if (status == 429) {
+            Duration retryAfter = retryAfter(headers);
+            boolean global = "true".equalsIgnoreCase(headers.getFirst("X-RateLimit-Global"))
+                    || "global".equalsIgnoreCase(headers.getFirst("X-RateLimit-Scope"));
+            log.warn("Discord retornou 429 ({}), aguardando {}ms", global ? "global" : "webhook", retryAfter.toMillis());
+            if (global) {
+                globalResetAt = Math.max(globalResetAt, now + retryAfter.toNanos());
+            }
+            bucket.remaining = 0;
+            bucket.resetAt = now + retryAfter.toNanos();
+            return;
+        }
+
+        if (limit == null && remaining == null && bucket.limit == 0) {
+            bucket.remaining = 1;
+        }
+    }
+
+    public synchronized void release(String webhookUrl) {
+        Bucket bucket = bucket(webhookUrl);
+        bucket.inFlight = Math.max(0, bucket.inFlight - 1);
+        if (bucket.limit == 0) {
+            bucket.remaining = 1;
+        }
+    }
+
+    private synchronized Duration tryAcquire(String webhookUrl) {
+        long now = System.nanoTime();
+        buckets.values().removeIf(idle -> idle.inFlight == 0 && idle.resetAt <= now);
+        Bucket bucket = bucket(webhookUrl);
+
+        if (globalResetAt > now) {
+            return Duration.ofNanos(globalResetAt - now);
+        }
+        if (bucket.remaining <= 0 && now >= bucket.resetAt) {
+            if (bucket.limit > 0) {
+                bucket.remaining = bucket.limit;
+            } else if (bucket.inFlight == 0) {
+                bucket.remaining = 1;
+            }
+        }
+        if (bucket.remaining > 0) {
+            bucket.remaining--;
+            bucket.inFlight++;
+            return Duration.ZERO;
+        }
+        if (bucket.resetAt > now) {
+            return Duration.ofNanos(bucket.resetAt - now);
+        }
+        return UNKNOWN_BUCKET_POLL;
+    }
+
+    private Bucket bucket(String webhookUrl) {
+        return buckets.computeIfAbsent(webhookUrl, url -> new Bucket());
+    }
+
+    private Duration retryAfter(HttpHeaders headers) {
+        Duration retryAfter = durationHeader(headers, "Retry-After");
+        return retryAfter != null ? retryAfter : DEFAULT_RETRY_AFTER;
+    }
+
+    private Integer intHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Cabeçalho {} inválido: {}", name, value);
+            return null;
+        }
+    }
+
+    private Duration durationHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis((long) Math.ceil(Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            log.debug("Cabeçalho {} inválido: {}", name, value);
+            return null;
+        }
+    }
+
+    private static class Bucket {
+        private int limit;
+        private int remaining = 1;
+        private long resetAt;
+        private int inFlight;
+    }
+}
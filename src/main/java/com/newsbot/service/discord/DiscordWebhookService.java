@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -24,39 +25,50 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class DiscordWebhookService {
     private final WebClient webClient;
+    private final DiscordRateLimiter rateLimiter;
 
     @Value("${app.discord.max-embeds-per-message:10}")
     private int maxEmbedsPerMessage;
 
     private static final Pattern URL_PATTERN = Pattern.compile("^https?://.*");
-    private static final int MAX_TITLE_LENGTH = 256;
-    private static final int MAX_DESCRIPTION_LENGTH = 4096;
-    private static final int MAX_TOTAL_CHARACTERS = 6000;
 
 
-    public Mono<Void> sendEmbeds(String webhookUrl, DiscordWebhookPayload payload) {
+    public Mono<List<Embed>> sendEmbeds(String webhookUrl, DiscordWebhookPayload payload) {
         if (webhookUrl == null || webhookUrl.trim().isEmpty()) {
             return Mono.error(new IllegalArgumentException("URL do Webhook não configurada"));
         }
 
-        DiscordWebhookPayload sanitizedPayload = sanitizePayload(payload);
-        log.debug("Enviando payload para Discord: {} embeds", 
-                sanitizedPayload.getEmbeds() != null ? sanitizedPayload.getEmbeds().size() : 0);
-
-        return webClient.post()
-                .uri(webhookUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(sanitizedPayload)
-                .retrieve()
-                .toBodilessEntity()
-                .timeout(Duration.ofSeconds(30))
-                .doOnSubscribe(s -> log.debug("Iniciando envio para Discord"))
+        List<Embed> included = new ArrayList<>();
+        DiscordWebhookPayload sanitizedPayload = sanitizePayload(payload, included);
+        log.debug("Enviando payload para Discord: {} embeds", included.size());
+
+        return rateLimiter.acquire(webhookUrl)
+                .then(Mono.defer(() -> webClient.post()
+                        .uri(webhookUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(sanitizedPayload)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .timeout(Duration.ofSeconds(30))
+                        .doOnSubscribe(s -> log.debug("Iniciando envio para Discord"))
+                        .doOnNext(response -> rateLimiter.update(webhookUrl, response.getStatusCode().value(),
+                                response.getHeaders()))
+                        .doOnError(error -> {
+                            if (error instanceof WebClientResponseException webEx) {
+                                rateLimiter.update(webhookUrl, webEx.getStatusCode().value(), webEx.getHeaders());
+                            } else {
+                                rateLimiter.release(webhookUrl);
+                            }
+                        })
+                        .doOnCancel(() -> rateLimiter.release(webhookUrl))))
                 .doOnSuccess(response -> log.info("Mensagem enviada para o Discord com sucesso"))
                 .doOnError(error -> {
                     if (error instanceof java.util.concurrent.TimeoutException) {
                         log.error("Timeout (30s) ao enviar mensagem para o Discord");
                     } else if (error instanceof WebClientResponseException webEx) {
-                        if (webEx.getStatusCode().is4xxClientError()) {
+                        if (webEx.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                            log.warn("Limite de taxa do Discord atingido, reenviando após o tempo indicado");
+                        } else if (webEx.getStatusCode().is4xxClientError()) {
                             log.error("Erro 4xx do Discord - Corpo do formulário inválido: {}",
                                     webEx.getResponseBodyAsString());
                         } else {
@@ -67,16 +79,18 @@ public class DiscordWebhookService {
                         log.error("Erro ao enviar para o Discord: {}", error.getMessage());
                     }
                 })
+                .retryWhen(Retry.max(5)
+                        .filter(this::isRateLimited))
                 .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
                         .maxBackoff(Duration.ofSeconds(10))
                         .doBeforeRetry(rs -> log.warn("Tentativa {} de envio para Discord após erro: {}", 
                                 rs.totalRetries() + 1, rs.failure().getMessage()))
                         .filter(this::isRetryableError))
-                .then();
+                .thenReturn(included);
     }
 
 
-    private DiscordWebhookPayload sanitizePayload(DiscordWebhookPayload payload) {
+    private DiscordWebhookPayload sanitizePayload(DiscordWebhookPayload payload, List<Embed> included) {
         List<Embed> sanitizedEmbeds = new ArrayList<>();
         int totalCharacters = 0;
 
@@ -87,9 +101,9 @@ public class DiscordWebhookService {
                 }
 
                 Embed sanitizedEmbed = sanitizeEmbed(embed);
-                int embedCharacters = calculateEmbedCharacters(sanitizedEmbed);
+                int embedCharacters = DiscordEmbedPacker.characters(sanitizedEmbed);
 
-                if (totalCharacters + embedCharacters > MAX_TOTAL_CHARACTERS) {
+                if (totalCharacters + embedCharacters > DiscordEmbedPacker.MAX_TOTAL_CHARACTERS) {
                     log.warn("Limite de caracteres atingido, parando no embed: {}",
                             sanitizedEmbed.getTitle());
                     break;
@@ -97,6 +111,7 @@ public class DiscordWebhookService {
 
                 if (isValidEmbed(sanitizedEmbed)) {
                     sanitizedEmbeds.add(sanitizedEmbed);
+                    included.add(embed);
                     totalCharacters += embedCharacters;
                 }
             }
@@ -114,8 +129,8 @@ public class DiscordWebhookService {
 
 
     private Embed sanitizeEmbed(Embed embed) {
-        String title = truncateString(embed.getTitle(), MAX_TITLE_LENGTH);
-        String description = truncateString(embed.getDescription(), MAX_DESCRIPTION_LENGTH);
+        String title = truncateString(embed.getTitle(), DiscordEmbedPacker.MAX_TITLE_LENGTH);
+        String description = truncateString(embed.getDescription(), DiscordEmbedPacker.MAX_DESCRIPTION_LENGTH);
         String url = sanitizeUrl(embed.getUrl());
         return Embed.builder()
                 .title(title)
@@ -145,16 +160,20 @@ public class DiscordWebhookService {
                 embed.getDescription() != null && !embed.getDescription().trim().isEmpty();
     }
 
-    private int calculateEmbedCharacters(Embed embed) {
-        int count = 0;
-        if (embed.getTitle() != null) count += embed.getTitle().length();
-        if (embed.getDescription() != null) count += embed.getDescription().length();
-        return count;
+    static boolean isRejected(Throwable error) {
+        Throwable cause = Exceptions.isRetryExhausted(error) ? error.getCause() : error;
+        return cause instanceof IllegalArgumentException
+                || cause instanceof WebClientResponseException webEx && webEx.getStatusCode().is4xxClientError();
+    }
+
+    private boolean isRateLimited(Throwable error) {
+        return error instanceof WebClientResponseException webEx
+                && webEx.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
     }
 
     private boolean isRetryableError(Throwable error) {
         if (error instanceof WebClientResponseException webEx) {
-            return webEx.getStatusCode().is5xxServerError() || webEx.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+            return webEx.getStatusCode().is5xxServerError();
         }
         return false;
     }
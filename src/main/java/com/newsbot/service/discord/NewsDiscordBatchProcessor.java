@@ -3,6 +3,7 @@ package com.newsbot.service.discord;
 import com.newsbot.dto.DiscordWebhookPayload;
 import com.newsbot.dto.Embed;
 import com.newsbot.model.NewsArticle;
+import com.newsbot.service.news.NewsFusedEditorService;
 import com.newsbot.service.translation.NewsTranslationService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,10 +15,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 
@@ -28,6 +33,7 @@ public class NewsDiscordBatchProcessor {
 
     private final DiscordWebhookService discordService;
     private final NewsTranslationService newsTranslationService;
+    private final DiscordOutboxService outboxService;
 
     @Value("${app.discord.embed-color:3447003}")
     private Integer embedColor;
@@ -35,7 +41,14 @@ public class NewsDiscordBatchProcessor {
     @Value("${app.discord.max-embeds-per-message:10}")
     private int maxEmbedsPerMessage;
 
-    private static final int AI_CONCURRENCY = 4;
+    @Value("${app.translation.batch-enabled:false}")
+    private boolean batchTranslationEnabled;
+
+    @Value("${app.ai.gateway.max-concurrency:16}")
+    private int aiConcurrency;
+
+    @Value("${app.discord.flush-interval:2s}")
+    private Duration flushInterval;
 
     @Data
     @AllArgsConstructor
@@ -44,23 +57,68 @@ public class NewsDiscordBatchProcessor {
         private Embed embed;
     }
 
-    public Mono<List<NewsArticle>> processAndSendToDiscord(List<NewsArticle> articles, String webhookUrl) {
-        log.info("Iniciando processamento de {} artigos para o Discord", articles.size());
+    private record ClaimedEmbed(ArticleEmbed articleEmbed, List<String> webhookUrls) {
+    }
 
-        return Flux.fromIterable(articles)
-                .flatMap(article -> {
-                            return newsTranslationService.processSingleNews(article.getTitle(), article.getDescription())
-                                    .map(processed -> {
-                                        return new ArticleEmbed(article, createEmbed(article, processed));
-                                    })
-                                    .onErrorResume(error -> {
-                                        log.warn("Falha ao processar '{}', ignorando artigo: {}",
-                                                article.getTitle(), error.getMessage());
-                                        return Mono.empty();
-                                    });
-                        },
-                        AI_CONCURRENCY
-                )
+    public Mono<List<NewsArticle>> processAndSendToDiscord(List<NewsArticle> articles, List<String> webhookUrls) {
+        log.info("Iniciando processamento de {} artigos para {} destino(s) do Discord",
+                articles.size(), webhookUrls.size());
+
+        Flux<ArticleEmbed> translated = batchTranslationEnabled
+                ? translateInBatches(articles)
+                : translateIndividually(articles);
+
+        return fanOut(translated, webhookUrls);
+    }
+
+    public Mono<List<NewsArticle>> sendTranslatedToDiscord(List<NewsFusedEditorService.SelectedNews> selected,
+                                                           List<String> webhookUrls) {
+        log.info("Iniciando envio de {} artigos já traduzidos para {} destino(s) do Discord",
+                selected.size(), webhookUrls.size());
+
+        return fanOut(Flux.fromIterable(selected)
+                .map(news -> new ArticleEmbed(news.getArticle(), createEmbed(news.getArticle(), news.getNews()))),
+                webhookUrls);
+    }
+
+    public Mono<Integer> stageForDelivery(List<NewsArticle> articles, List<String> webhookUrls,
+                                          LocalDateTime deliverAt) {
+        log.info("Preparando {} artigos para envio ao Discord às {}", articles.size(), deliverAt);
+
+        Flux<ArticleEmbed> translated = batchTranslationEnabled
+                ? translateInBatches(articles)
+                : translateIndividually(articles);
+
+        return stage(translated, webhookUrls, deliverAt);
+    }
+
+    public Mono<Integer> stageTranslatedForDelivery(List<NewsFusedEditorService.SelectedNews> selected,
+                                                    List<String> webhookUrls, LocalDateTime deliverAt) {
+        log.info("Preparando {} artigos já traduzidos para envio ao Discord às {}", selected.size(), deliverAt);
+
+        return stage(Flux.fromIterable(selected)
+                .map(news -> new ArticleEmbed(news.getArticle(), createEmbed(news.getArticle(), news.getNews()))),
+                webhookUrls, deliverAt);
+    }
+
+    private Mono<Integer> stage(Flux<ArticleEmbed> translated, List<String> webhookUrls, LocalDateTime deliverAt) {
+        if (webhookUrls.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        return withTranslationTimeout(translated)
+                .concatMap(articleEmbed -> outboxService.enqueue(articleEmbed.getArticle(), articleEmbed.getEmbed(),
+                                webhookUrls, deliverAt)
+                        .filter(staged -> !staged.isEmpty())
+                        .onErrorResume(error -> Mono.empty()))
+                .count()
+                .map(Long::intValue)
+                .doOnNext(count -> log.info("{} embeds preparados na fila do Discord para envio às {}",
+                        count, deliverAt));
+    }
+
+    private Flux<ArticleEmbed> withTranslationTimeout(Flux<ArticleEmbed> translated) {
+        return translated
                 .timeout(Duration.ofMinutes(5))
                 .onErrorResume(e -> {
                     if (e instanceof java.util.concurrent.TimeoutException) {
@@ -69,27 +127,113 @@ public class NewsDiscordBatchProcessor {
                         log.error("Erro ao processar artigos para o Discord: {}", e.getMessage());
                     }
                     return Flux.empty();
-                })
-                .collectList()
-                .flatMap(articleEmbeds -> {
-                    log.info("Coletados {} artigos processados, preparando para envio", articleEmbeds.size());
-                    List<Embed> embeds = articleEmbeds.stream()
-                            .map(ArticleEmbed::getEmbed)
-                            .collect(Collectors.toList());
+                });
+    }
+
+    private Mono<List<NewsArticle>> fanOut(Flux<ArticleEmbed> translated, List<String> webhookUrls) {
+        if (webhookUrls.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Flux<ClaimedEmbed> shared = withTranslationTimeout(translated)
+                .concatMap(articleEmbed -> outboxService.enqueue(articleEmbed.getArticle(), articleEmbed.getEmbed(),
+                                webhookUrls)
+                        .map(claimed -> new ClaimedEmbed(articleEmbed, claimed))
+                        .onErrorResume(error -> {
+                            log.warn("'{}' não será enviado sem registro na fila do Discord",
+                                    articleEmbed.getArticle().getTitle());
+                            return Mono.empty();
+                        }))
+                .replay()
+                .autoConnect(webhookUrls.size());
+
+        return Flux.range(0, webhookUrls.size())
+                .flatMap(index -> sendTranslated(claimedFor(shared, webhookUrls.get(index)),
+                                webhookUrls.get(index), "#" + (index + 1)),
+                        webhookUrls.size())
+                .flatMapIterable(sent -> sent)
+                .distinct()
+                .collectList();
+    }
+
+    private Flux<ArticleEmbed> claimedFor(Flux<ClaimedEmbed> shared, String webhookUrl) {
+        return shared
+                .filter(claimed -> claimed.webhookUrls().contains(webhookUrl))
+                .map(ClaimedEmbed::articleEmbed);
+    }
 
-                    return sendEmbedsInBatches(embeds, webhookUrl, articleEmbeds);
+    private Mono<List<NewsArticle>> sendTranslated(Flux<ArticleEmbed> translated, String webhookUrl,
+                                                   String destination) {
+        long startTime = System.currentTimeMillis();
+        AtomicBoolean firstSent = new AtomicBoolean();
+        DiscordEmbedPacker packer = new DiscordEmbedPacker(maxEmbedsPerMessage, DiscordEmbedPacker.MAX_TOTAL_CHARACTERS);
+
+        return translated
+                .bufferTimeout(Math.max(1, maxEmbedsPerMessage), flushInterval, true)
+                .concatMapIterable(window -> packer.pack(window, ArticleEmbed::getEmbed))
+                .index()
+                .concatMap(tuple -> {
+                    List<ArticleEmbed> batch = tuple.getT2();
+                    log.debug("Enviando lote {} com {} embeds ao destino {} enquanto as traduções continuam",
+                            tuple.getT1() + 1, batch.size(), destination);
+                    return sendArticleBatch(batch, webhookUrl)
+                            .doOnNext(sent -> {
+                                if (!sent.isEmpty() && firstSent.compareAndSet(false, true)) {
+                                    log.info("Primeira mensagem enviada ao destino {} do Discord após {}ms",
+                                            destination, System.currentTimeMillis() - startTime);
+                                }
+                            });
                 })
+                .flatMapIterable(sent -> sent)
+                .collectList()
                 .timeout(Duration.ofMinutes(10))
                 .onErrorResume(e -> {
                     if (e instanceof java.util.concurrent.TimeoutException) {
-                        log.error("Timeout global (10 minutos) ao enviar artigos para o Discord");
+                        log.error("Timeout global (10 minutos) ao enviar artigos ao destino {} do Discord", destination);
                     } else {
-                        log.error("Erro ao enviar artigos para o Discord: {}", e.getMessage());
+                        log.error("Erro ao enviar artigos ao destino {} do Discord: {}", destination, e.getMessage());
                     }
                     return Mono.just(new ArrayList<>());
                 })
                 .doOnSuccess(successfulArticles -> {
-                    log.info("Envio para Discord concluido. {} artigos enviados com sucesso", successfulArticles.size());
+                    log.info("Envio ao destino {} do Discord concluido em {}ms. {} artigos enviados com sucesso",
+                            destination, System.currentTimeMillis() - startTime, successfulArticles.size());
+                });
+    }
+
+    private Flux<ArticleEmbed> translateIndividually(List<NewsArticle> articles) {
+        return Flux.fromIterable(articles)
+                .flatMap(article -> {
+                            return newsTranslationService.processSingleNews(article.getTitle(), article.getDescription())
+                                    .map(processed -> {
+                                        return new ArticleEmbed(article, createEmbed(article, processed));
+                                    })
+                                    .onErrorResume(error -> {
+                                        log.warn("Falha ao processar '{}', ignorando artigo: {}",
+                                                article.getTitle(), error.getMessage());
+                                        return Mono.empty();
+                                    });
+                        },
+                        Math.max(1, aiConcurrency)
+                );
+    }
+
+    private Flux<ArticleEmbed> translateInBatches(List<NewsArticle> articles) {
+        if (articles.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<NewsTranslationService.NewsInput> inputs = articles.stream()
+                .map(article -> NewsTranslationService.NewsInput.builder()
+                        .title(article.getTitle())
+                        .description(article.getDescription())
+                        .build())
+                .toList();
+
+        return newsTranslationService.processNewsBatch(inputs)
+                .map(indexed -> {
+                    NewsArticle article = articles.get(indexed.getIndex());
+                    return new ArticleEmbed(article, createEmbed(article, indexed.getNews()));
                 });
     }
 
@@ -103,51 +247,12 @@ public class NewsDiscordBatchProcessor {
                 .build();
     }
 
-    private Mono<List<NewsArticle>> sendEmbedsInBatches(List<Embed> embeds, String webhookUrl,
-                                                 List<ArticleEmbed> articleEmbeds) {
-        if (embeds.isEmpty()) {
-            log.info("Nenhum embed para enviar");
-            return Mono.just(new ArrayList<>());
-        }
-
-        Map<Embed, NewsArticle> embedToArticleMap = articleEmbeds.stream()
-                .collect(Collectors.toMap(ArticleEmbed::getEmbed, ArticleEmbed::getArticle));
-
-        List<List<Embed>> batches = createBatches(embeds, maxEmbedsPerMessage);
-        log.info("Enviando {} embeds em {} lotes", embeds.size(), batches.size());
-
-        return Flux.fromIterable(batches)
-                .index()
-                .concatMap(tuple -> {
-                    long batchIndex = tuple.getT1();
-                    List<Embed> batch = tuple.getT2();
-                    log.debug("Processando lote {}/{}", batchIndex + 1, batches.size());
-                    return sendSingleBatch(batch, webhookUrl);
-                })
-                .timeout(Duration.ofMinutes(5))
-                .onErrorResume(e -> {
-                    if (e instanceof java.util.concurrent.TimeoutException) {
-                        log.error("Timeout global (5 minutos) ao enviar todos os lotes para o Discord");
-                    } else {
-                        log.error("Erro ao enviar lotes para o Discord: {}", e.getMessage());
-                    }
-                    return Flux.empty();
-                })
-                .filter(successfulBatch -> !successfulBatch.isEmpty())
-                .flatMap(Flux::fromIterable)
-                .map(embedToArticleMap::get)
-                .collectList();
-    }
-
-    private Mono<List<Embed>> sendSingleBatch(List<Embed> batch, String webhookUrl) {
+    private Mono<List<NewsArticle>> sendArticleBatch(List<ArticleEmbed> batch, String webhookUrl) {
         DiscordWebhookPayload payload = DiscordWebhookPayload.builder()
-                .embeds(batch)
+                .embeds(batch.stream().map(ArticleEmbed::getEmbed).collect(Collectors.toList()))
                 .build();
 
         return discordService.sendEmbeds(webhookUrl, payload)
-                .thenReturn(batch)
-                .doOnSuccess(v -> log.info("Lote de {} embeds enviado com sucesso", batch.size()))
-                .delayElement(Duration.ofSeconds(3))
                 .timeout(Duration.ofSeconds(60))
                 .onErrorResume(error -> {
                     if (error instanceof java.util.concurrent.TimeoutException) {
@@ -155,16 +260,34 @@ public class NewsDiscordBatchProcessor {
                     } else {
                         log.error("Erro ao enviar lote para o Discord: {}", error.getMessage());
                     }
-                    return Mono.just(new ArrayList<>());
-                });
-    }
-
-    private List<List<Embed>> createBatches(List<Embed> embeds, int batchSize) {
-        List<List<Embed>> batches = new ArrayList<>();
-        for (int i = 0; i < embeds.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, embeds.size());
-            batches.add(new ArrayList<>(embeds.subList(i, end)));
-        }
-        return batches;
+                    if (!DiscordWebhookService.isRejected(error)) {
+                        log.warn("Não é possível saber se o Discord recebeu o lote; {} envios continuam reservados na fila",
+                                batch.size());
+                        return Mono.empty();
+                    }
+                    return outboxService.release(batch.stream().map(ArticleEmbed::getArticle).toList(), webhookUrl)
+                            .then(Mono.<List<Embed>>empty());
+                })
+                .flatMap(sent -> {
+                    Set<Embed> sentEmbeds = Collections.newSetFromMap(new IdentityHashMap<>());
+                    sentEmbeds.addAll(sent);
+                    List<NewsArticle> sentArticles = batch.stream()
+                            .filter(articleEmbed -> sentEmbeds.contains(articleEmbed.getEmbed()))
+                            .map(ArticleEmbed::getArticle)
+                            .toList();
+                    List<NewsArticle> rejected = batch.stream()
+                            .filter(articleEmbed -> !sentEmbeds.contains(articleEmbed.getEmbed()))
+                            .map(ArticleEmbed::getArticle)
+                            .toList();
+                    if (!rejected.isEmpty()) {
+                        log.warn("Discord recebeu {} de {} embeds do lote; os demais não serão marcados como enviados",
+                                sentArticles.size(), batch.size());
+                    }
+                    log.info("Lote de {} embeds enviado com sucesso", sentArticles.size());
+                    return outboxService.acknowledge(sentArticles, webhookUrl)
+                            .then(outboxService.release(rejected, webhookUrl))
+                            .thenReturn(sentArticles);
+                })
+                .defaultIfEmpty(List.of());
     }
 }
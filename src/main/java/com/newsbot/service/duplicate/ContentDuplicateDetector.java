@@ -20,10 +20,13 @@ public class ContentDuplicateDetector {
     private final JaroWinklerSimilarity jaroWinkler = new JaroWinklerSimilarity();
 
     public String generateContentHash(String content) {
+        return sha256(normalizeContent(content));
+    }
+
+    public static String sha256(String content) {
         try {
-            String normalizedContent = normalizeContent(content);
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(normalizedContent.getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
 
             StringBuilder hexString = new StringBuilder();
             for (byte b : hash) {
@@ -1,33 +1,60 @@
 package com.newsbot.service.news;
 
 import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmBudgetScope;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.prompt.PromptBudgetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NewsEditorService {
 
-    private final ChatClient chatClient;
+    private final LlmGateway llmGateway;
+    private final NewsScoreCacheService scoreCacheService;
+    private final NewsPreRanker preRanker;
+    private final PromptBudgetService promptBudget;
 
     @Value("${app.news.top-news-count:20}")
     private int topNewsCount;
 
+    @Value("${app.news.editor.shard-size:25}")
+    private int shardSize;
+
+    @Value("${app.news.editor.shard-concurrency:4}")
+    private int shardConcurrency;
+
+    @Value("${app.news.editor.final-round.enabled:true}")
+    private boolean finalRoundEnabled;
+
+    @Value("${app.news.editor.final-round.per-shard:5}")
+    private int finalRoundPerShard;
+
+    private static final int MIN_CALIBRATION_SAMPLES = 5;
+    private static final double FINAL_ROUND_BASE_RANK = 100.0;
+    private static final int MAX_TITLE_TOKENS = 60;
+    private static final int ARTICLE_LINE_OVERHEAD_TOKENS = 6;
+    private static final int SCORE_COMPLETION_TOKENS = 6;
+    private static final String PROMPT_HEADER = "Evaluate these news titles (1-10):\n\n";
+    private static final String PROMPT_FOOTER = "\nRESPONSE (NOTA1: X, NOTA2: Y, ...):";
+
     private static final String EDITOR_SYSTEM_PROMPT = """
         Você é um editor-chefe experiente de um portal brasileiro de tecnologia e jogos.
         Avalie APENAS com base no título da notícia e dê uma pontuação de 1 a 10.
@@ -52,8 +79,13 @@ public class NewsEditorService {
         log.info("Editor IA: Avaliando {} artigos de notícias para selecionar os {} melhores...",
                 allArticles.size(), topNewsCount);
 
-        return evaluateNewsSequentially(allArticles)
-                .collectList()
+        return preRanker.shortlist(allArticles)
+                .flatMap(shortlist -> scoreCacheService.findCachedScores(shortlist, EDITOR_SYSTEM_PROMPT)
+                        .onErrorResume(e -> {
+                            log.warn("Cache de notas indisponível, avaliando todos os artigos: {}", e.getMessage());
+                            return Mono.just(Map.of());
+                        })
+                        .flatMap(cachedScores -> evaluateWithCache(shortlist, cachedScores)))
                 .map(this::selectBestNews)
                 .timeout(Duration.ofMinutes(10))
                 .doOnError(e -> {
@@ -73,45 +105,266 @@ public class NewsEditorService {
                 });
     }
 
+    public Mono<List<NewsArticle>> selectBreakingNews(List<NewsArticle> candidates, int preFilterScore, int threshold) {
+        List<NewsArticle> shortlist = candidates.stream()
+                .filter(article -> preRanker.toEditorScale(article) >= preFilterScore)
+                .toList();
+        if (shortlist.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        log.info("Noticias urgentes: {} de {} candidatos passaram pelo pré-filtro (nota local >= {})",
+                shortlist.size(), candidates.size(), preFilterScore);
+
+        return scoreCacheService.findCachedScores(shortlist, EDITOR_SYSTEM_PROMPT)
+                .onErrorResume(e -> {
+                    log.warn("Cache de notas indisponível, avaliando todos os candidatos: {}", e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .flatMap(cachedScores -> scoreBreakingCandidates(shortlist, cachedScores))
+                .map(evaluations -> evaluations.stream()
+                        .filter(evaluation -> evaluation.aiScored() && evaluation.score() >= threshold)
+                        .sorted(Comparator.comparingInt(NewsEvaluation::score).reversed())
+                        .map(NewsEvaluation::article)
+                        .toList())
+                .onErrorResume(e -> {
+                    log.warn("Erro ao avaliar noticias urgentes: {}", e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private Mono<List<NewsEvaluation>> scoreBreakingCandidates(List<NewsArticle> articles,
+                                                               Map<String, Integer> cachedScores) {
+        List<NewsEvaluation> evaluations = new ArrayList<>();
+        List<NewsArticle> pendingArticles = new ArrayList<>();
+        for (NewsArticle article : articles) {
+            Integer cachedScore = article.getContentHash() != null ? cachedScores.get(article.getContentHash()) : null;
+            if (cachedScore != null) {
+                evaluations.add(new NewsEvaluation(article, cachedScore, true));
+            } else {
+                pendingArticles.add(article);
+            }
+        }
+
+        if (pendingArticles.isEmpty()) {
+            return Mono.just(evaluations);
+        }
+
+        if (!llmGateway.hasBudget(LlmTask.SCORING, LlmBudgetScope.BREAKING)) {
+            log.warn("Orçamento de tokens da IA esgotado, ignorando {} candidatos a noticia urgente",
+                    pendingArticles.size());
+            return Mono.just(evaluations);
+        }
+
+        return evaluateInShards(pendingArticles)
+                .flatMap(shardResults -> {
+                    List<NewsEvaluation> freshEvaluations = shardResults.stream().flatMap(List::stream).toList();
+                    evaluations.addAll(freshEvaluations);
+                    return scoreCacheService.saveScores(toCacheEntries(freshEvaluations), EDITOR_SYSTEM_PROMPT)
+                            .onErrorResume(e -> Mono.empty())
+                            .thenReturn(evaluations);
+                });
+    }
+
     private List<NewsArticle> createFallbackArticleSelection(List<NewsArticle> allArticles) {
         log.info("Criando seleção alternativa de artigos");
-        return allArticles.stream()
-                .sorted(Comparator.comparing(NewsArticle::getPublishedDate).reversed())
+        return preRanker.rank(allArticles).stream()
                 .limit(topNewsCount)
                 .toList();
     }
 
-    private Flux<NewsEvaluation> evaluateNewsSequentially(List<NewsArticle> articles) {
-        log.info("Processando todos os {} artigos de uma vez", articles.size());
+    private Mono<List<NewsEvaluation>> evaluateWithCache(List<NewsArticle> articles, Map<String, Integer> cachedScores) {
+        List<NewsEvaluation> cachedEvaluations = new ArrayList<>();
+        List<NewsArticle> pendingArticles = new ArrayList<>();
+        for (NewsArticle article : articles) {
+            Integer cachedScore = article.getContentHash() != null ? cachedScores.get(article.getContentHash()) : null;
+            if (cachedScore != null) {
+                cachedEvaluations.add(new NewsEvaluation(article, cachedScore, true));
+            } else {
+                pendingArticles.add(article);
+            }
+        }
+
+        log.info("Cache de notas: {} artigos reaproveitados, {} artigos para avaliar com IA",
+                cachedEvaluations.size(), pendingArticles.size());
+
+        if (pendingArticles.isEmpty()) {
+            return Mono.just(cachedEvaluations);
+        }
+
+        if (!llmGateway.hasBudget(LlmTask.SCORING)) {
+            log.warn("Orçamento de tokens da IA esgotado, usando o pré-ranqueamento para {} artigos",
+                    pendingArticles.size());
+            List<NewsEvaluation> evaluations = new ArrayList<>(cachedEvaluations);
+            evaluations.addAll(createFallbackSelection(pendingArticles));
+            return Mono.just(evaluations);
+        }
+
+        return evaluateInShards(pendingArticles)
+                .flatMap(shardResults -> {
+                    List<NewsEvaluation> freshEvaluations = shardResults.stream().flatMap(List::stream).toList();
+                    return scoreCacheService.saveScores(toCacheEntries(freshEvaluations), EDITOR_SYSTEM_PROMPT)
+                            .onErrorResume(e -> Mono.empty())
+                            .thenReturn(shardResults);
+                })
+                .map(shardResults -> {
+                    List<List<NewsEvaluation>> groups = new ArrayList<>(calibrateShards(shardResults));
+                    if (!cachedEvaluations.isEmpty()) {
+                        groups.add(cachedEvaluations);
+                    }
+                    return groups;
+                })
+                .flatMap(this::runFinalRound);
+    }
+
+    private Map<String, Integer> toCacheEntries(List<NewsEvaluation> evaluations) {
+        Map<String, Integer> entries = new HashMap<>();
+        for (NewsEvaluation evaluation : evaluations) {
+            if (evaluation.aiScored() && !evaluation.escalated() && evaluation.article().getContentHash() != null) {
+                entries.put(evaluation.article().getContentHash(), evaluation.score());
+            }
+        }
+        return entries;
+    }
+
+    private Mono<List<List<NewsEvaluation>>> evaluateInShards(List<NewsArticle> articles) {
+        List<List<NewsArticle>> shards = promptBudget.partition(interleaveBySource(articles), this::articlePromptTokens,
+                fixedPromptTokens(articles), SCORE_COMPLETION_TOKENS, shardSize);
+        log.info("Avaliando {} artigos em {} lotes de até {} artigos e {} tokens ({} lotes em paralelo)",
+                articles.size(), shards.size(), shardSize, promptBudget.requestBudget(), shardConcurrency);
 
-        return evaluateBatchWithRetry(articles)
+        return Flux.fromIterable(shards)
+                .flatMapSequential(this::evaluateShard, Math.max(1, shardConcurrency))
+                .collectList()
+                .doOnNext(results -> log.info("Todos os {} artigos avaliados em {} lotes", articles.size(), results.size()));
+    }
+
+    private Mono<List<NewsEvaluation>> evaluateShard(List<NewsArticle> shard) {
+        return evaluateBatchWithRetry(shard)
+                .collectList()
                 .timeout(Duration.ofSeconds(180))
                 .doOnError(e -> {
                     if (e instanceof java.util.concurrent.TimeoutException) {
-                        log.error("Timeout (180s) ao processar todos os {} artigos", articles.size());
+                        log.error("Timeout (180s) ao processar lote de {} artigos", shard.size());
                     } else {
-                        log.error("Erro ao processar todos os {} artigos: {}", articles.size(), e.getMessage());
+                        log.error("Erro ao processar lote de {} artigos: {}", shard.size(), e.getMessage());
                     }
                 })
                 .onErrorResume(e -> {
-                    log.warn("Usando avaliação alternativa para todos os artigos devido a erro: {}", e.getMessage());
-                    return Flux.fromIterable(createFallbackSelection(articles));
-                })
-                .doOnComplete(() -> {
-                    log.info("Todos os {} artigos processados com sucesso", articles.size());
+                    log.warn("Usando avaliação alternativa para o lote devido a erro: {}", e.getMessage());
+                    return Mono.just(createFallbackSelection(shard));
+                });
+    }
+
+    private List<NewsArticle> interleaveBySource(List<NewsArticle> articles) {
+        Map<String, List<NewsArticle>> bySource = new LinkedHashMap<>();
+        for (NewsArticle article : articles) {
+            bySource.computeIfAbsent(String.valueOf(article.getSource()), k -> new ArrayList<>()).add(article);
+        }
+
+        List<NewsArticle> interleaved = new ArrayList<>(articles.size());
+        for (int round = 0; interleaved.size() < articles.size(); round++) {
+            for (List<NewsArticle> sourceArticles : bySource.values()) {
+                if (round < sourceArticles.size()) {
+                    interleaved.add(sourceArticles.get(round));
+                }
+            }
+        }
+        return interleaved;
+    }
+
+    private List<List<NewsEvaluation>> calibrateShards(List<List<NewsEvaluation>> shardResults) {
+        if (shardResults.size() <= 1) {
+            return shardResults;
+        }
+
+        double globalMean = shardResults.stream()
+                .flatMap(List::stream)
+                .filter(NewsEvaluation::aiScored)
+                .mapToInt(NewsEvaluation::score)
+                .average()
+                .orElse(0);
+
+        List<List<NewsEvaluation>> calibrated = new ArrayList<>();
+        for (List<NewsEvaluation> shard : shardResults) {
+            List<NewsEvaluation> aiScored = shard.stream().filter(NewsEvaluation::aiScored).toList();
+            if (aiScored.size() < MIN_CALIBRATION_SAMPLES) {
+                calibrated.add(shard);
+                continue;
+            }
+
+            double offset = globalMean - aiScored.stream().mapToInt(NewsEvaluation::score).average().orElse(globalMean);
+            log.debug("Calibração de lote: deslocamento de {} pontos", String.format("%.2f", offset));
+            calibrated.add(shard.stream()
+                    .map(e -> e.aiScored() ? e.withRank(e.score() + offset) : e)
+                    .toList());
+        }
+        return calibrated;
+    }
+
+    private Mono<List<NewsEvaluation>> runFinalRound(List<List<NewsEvaluation>> groups) {
+        List<NewsEvaluation> allEvaluations = groups.stream().flatMap(List::stream).toList();
+        if (!finalRoundEnabled || groups.size() <= 1) {
+            return Mono.just(allEvaluations);
+        }
+
+        List<NewsEvaluation> candidates = groups.stream()
+                .flatMap(group -> group.stream()
+                        .sorted(Comparator.comparingDouble(NewsEvaluation::rank).reversed())
+                        .limit(finalRoundPerShard))
+                .sorted(Comparator.comparingDouble(NewsEvaluation::rank).reversed())
+                .toList();
+
+        if (candidates.size() <= topNewsCount) {
+            return Mono.just(allEvaluations);
+        }
+
+        List<NewsArticle> candidateArticles = candidates.stream().map(NewsEvaluation::article).toList();
+        List<NewsEvaluation> finalists = promptBudget.partition(candidates, e -> articlePromptTokens(e.article()),
+                fixedPromptTokens(candidateArticles), SCORE_COMPLETION_TOKENS, 0).get(0);
+        if (finalists.size() < candidates.size()) {
+            log.info("Rodada final limitada a {} de {} finalistas pelo orçamento de tokens",
+                    finalists.size(), candidates.size());
+        }
+
+        log.info("Rodada final: reavaliando {} finalistas de {} lotes", finalists.size(), groups.size());
+
+        return evaluateBatchWithRetry(finalists.stream().map(NewsEvaluation::article).toList())
+                .collectList()
+                .map(finalScores -> mergeFinalRound(allEvaluations, finalScores))
+                .timeout(Duration.ofSeconds(180))
+                .onErrorResume(e -> {
+                    log.warn("Rodada final falhou, mantendo notas calibradas: {}", e.getMessage());
+                    return Mono.just(allEvaluations);
                 });
     }
 
+    private List<NewsEvaluation> mergeFinalRound(List<NewsEvaluation> allEvaluations, List<NewsEvaluation> finalScores) {
+        Map<NewsArticle, NewsEvaluation> finalByArticle = new IdentityHashMap<>();
+        for (NewsEvaluation finalScore : finalScores) {
+            if (finalScore.aiScored()) {
+                finalByArticle.put(finalScore.article(), finalScore);
+            }
+        }
+
+        return allEvaluations.stream()
+                .map(e -> {
+                    NewsEvaluation finalScore = finalByArticle.get(e.article());
+                    if (finalScore == null) {
+                        return e;
+                    }
+                    return e.withRank(FINAL_ROUND_BASE_RANK + finalScore.score() + e.rank() / FINAL_ROUND_BASE_RANK);
+                })
+                .toList();
+    }
+
     private Flux<NewsEvaluation> evaluateBatchWithRetry(List<NewsArticle> batch) {
         return evaluateBatchAsync(batch)
                 .timeout(Duration.ofSeconds(60))
                 .doOnSubscribe(s -> log.info("Iniciando avaliação de lote com {} artigos", batch.size()))
-                .retryWhen(Retry.backoff(2, Duration.ofSeconds(3))
-                        .maxBackoff(Duration.ofSeconds(10))
-                        .maxAttempts(3)
-                        .doBeforeRetry(rs -> log.warn("Tentativa {} de avaliação de lote após erro: {}", 
-                                rs.totalRetries() + 1, rs.failure().getMessage()))
-                        .filter(this::isRetryableError))
+                .retryWhen(llmGateway.retrySpec()
+                        .doBeforeRetry(rs -> log.warn("Tentativa {} de avaliação de lote após erro: {}",
+                                rs.totalRetries() + 1, rs.failure().getMessage())))
                 .onErrorResume(error -> {
                     if (error instanceof java.util.concurrent.TimeoutException) {
                         log.error("Timeout (60s) ao avaliar lote de {} artigos", batch.size());
@@ -122,191 +375,169 @@ public class NewsEditorService {
                 });
     }
 
-    private boolean isRetryableError(Throwable error) {
-        if (error instanceof InterruptedException) return true;
-        if (error instanceof org.springframework.web.client.ResourceAccessException) return true;
-        if (error instanceof java.net.SocketTimeoutException) return true;
-        if (error instanceof java.io.IOException) return true;
-        if (error instanceof java.util.concurrent.TimeoutException) return true;
-
-        String msg = error.getMessage();
-        return msg != null && (
-                msg.contains("timeout") ||
-                msg.contains("Connection reset") ||
-                msg.contains("I/O error")
-        );
-    }
-
     private Flux<NewsEvaluation> evaluateBatchAsync(List<NewsArticle> batch) {
         return Mono.fromCallable(() -> buildPrompt(batch))
-                .flatMap(prompt -> Mono.defer(() -> callChatApi(prompt))
-                        .subscribeOn(Schedulers.boundedElastic())
-                        .timeout(Duration.ofSeconds(45))
-                        .doOnError(e -> {
-                            if (e instanceof java.util.concurrent.TimeoutException) {
-                                log.error("Timeout (45s) na chamada à API para lote de {} artigos", batch.size());
-                            }
-                        })
-                )
-                .map(response -> {
-                    List<NewsEvaluation> evaluations = parseEvaluationResponse(response, batch);
-                    return evaluations;
-                })
-                .timeout(Duration.ofSeconds(50))
-                .onErrorResume(e -> {
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-
-                    if (e instanceof java.util.concurrent.TimeoutException) {
-                        log.error("Timeout global (50s) no processamento do lote de {} artigos", batch.size());
-                    } else {
-                        log.warn("Erro de avaliação ({}): {}", e.getClass().getSimpleName(), e.getMessage());
-                    }
-
-                    List<NewsEvaluation> fallback = createFallbackSelection(batch);
-                    return Mono.just(fallback);
-                })
+                .flatMap(prompt -> streamScores(prompt, batch.size(), false)
+                        .flatMap(parser -> escalateIfIncomplete(prompt, parser, batch.size())))
+                .map(parser -> toEvaluations(parser, batch))
+                .doOnError(e -> log.warn("Erro de avaliação ({}): {}", e.getClass().getSimpleName(), e.getMessage()))
                 .flatMapMany(Flux::fromIterable);
     }
 
     private String buildPrompt(List<NewsArticle> batch) {
-        StringBuilder prompt = new StringBuilder("Evaluate these news titles (1-10):\n\n");
+        Map<String, String> sourceCodes = new LinkedHashMap<>();
+        for (NewsArticle article : batch) {
+            sourceCodes.computeIfAbsent(String.valueOf(article.getSource()), source -> "F" + (sourceCodes.size() + 1));
+        }
+        boolean useSourceCodes = sourceCodes.size() < batch.size();
+
+        StringBuilder prompt = new StringBuilder(PROMPT_HEADER);
+        if (useSourceCodes) {
+            prompt.append("Sources: ");
+            sourceCodes.forEach((source, code) -> prompt.append(code).append('=').append(source).append("; "));
+            prompt.append("\n\n");
+        }
         for (int i = 0; i < batch.size(); i++) {
             NewsArticle article = batch.get(i);
-            prompt.append(String.format("%d. [%s] %s%n", i + 1, article.getSource(), article.getTitle()));
+            String source = String.valueOf(article.getSource());
+            String tag = useSourceCodes ? sourceCodes.get(source) : source;
+            String title = promptBudget.truncateToTokens(article.getTitle(), MAX_TITLE_TOKENS);
+            prompt.append(String.format("%d. [%s] %s%n", i + 1, tag, title));
         }
-        prompt.append("\nRESPONSE (NOTA1: X, NOTA2: Y, ...):");
+        prompt.append(PROMPT_FOOTER);
         return prompt.toString();
     }
 
-    private Mono<String> callChatApi(String prompt) {
-        return Mono.fromCallable(() -> {
+    private int articlePromptTokens(NewsArticle article) {
+        return Math.min(MAX_TITLE_TOKENS, promptBudget.estimateTokens(article.getTitle())) + ARTICLE_LINE_OVERHEAD_TOKENS;
+    }
+
+    private int fixedPromptTokens(List<NewsArticle> articles) {
+        int sourceLegendTokens = articles.stream()
+                .map(article -> String.valueOf(article.getSource()))
+                .distinct()
+                .mapToInt(source -> promptBudget.estimateTokens(source) + 3)
+                .sum();
+        return promptBudget.estimateMessageTokens(EDITOR_SYSTEM_PROMPT, PROMPT_HEADER + PROMPT_FOOTER) + sourceLegendTokens;
+    }
+
+    private Mono<StreamingScoreParser> escalateIfIncomplete(String prompt, StreamingScoreParser parser, int expectedScores) {
+        double coverage = (double) parser.scoredCount() / expectedScores;
+        if (coverage >= llmGateway.minCoverage(LlmTask.SCORING)) {
+            return Mono.just(parser);
+        }
+
+        return llmGateway.canEscalate(LlmTask.SCORING).flatMap(canEscalate -> {
+            if (!canEscalate) {
+                return Mono.just(parser);
+            }
+
+            log.warn("Cobertura de {}% abaixo do mínimo, reavaliando lote com o modelo de escalonamento",
+                    Math.round(coverage * 100));
+            return streamScores(prompt, expectedScores, true)
+                    .map(escalated -> escalated.scoredCount() >= parser.scoredCount() ? escalated : parser)
+                    .onErrorResume(e -> {
+                        log.warn("Escalonamento falhou, mantendo avaliação parcial: {}", e.getMessage());
+                        return Mono.just(parser);
+                    });
+        });
+    }
+
+    private Mono<StreamingScoreParser> streamScores(String prompt, int expectedScores, boolean escalate) {
+        return Mono.defer(() -> {
             log.debug("Enviando prompt para API de IA ({} caracteres)", prompt.length());
+            StreamingScoreParser parser = new StreamingScoreParser(expectedScores, escalate);
             long startTime = System.currentTimeMillis();
 
-            try {
-                String response = chatClient.prompt()
-                        .system(EDITOR_SYSTEM_PROMPT)
-                        .user(prompt)
-                        .call()
-                        .content();
-
-                long duration = System.currentTimeMillis() - startTime;
-                log.debug("Resposta da API de IA recebida em {}ms ({} caracteres)", 
-                        duration, response.length());
-                return response;
-            } catch (Exception e) {
-                long duration = System.currentTimeMillis() - startTime;
-                log.warn("Erro ao chamar API de IA após {}ms: {}", duration, e.getMessage());
-                throw e;
-            }
-        })
-        .timeout(Duration.ofSeconds(30))
-        .doOnError(e -> {
-            if (e instanceof java.util.concurrent.TimeoutException) {
-                log.error("Timeout ao chamar API de IA (30s)");
-            } else {
-                log.error("Erro ao chamar API de IA: {}", e.getMessage());
-            }
-        })
-        .onErrorResume(e -> {
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-            log.warn("Falha na chamada à API de IA, retornando resposta vazia: {}", e.getMessage());
-            return Mono.just("");
+            return llmGateway.stream(LlmTask.SCORING, escalate, EDITOR_SYSTEM_PROMPT, prompt)
+                    .doOnNext(parser::accept)
+                    .takeUntil(chunk -> parser.isComplete())
+                    .timeout(Duration.ofSeconds(45))
+                    .then(Mono.fromCallable(() -> {
+                        parser.finish();
+                        log.debug("Resposta da API de IA recebida em {}ms ({} caracteres, {} de {} notas)",
+                                System.currentTimeMillis() - startTime, parser.responseLength(),
+                                parser.scoredCount(), expectedScores);
+                        return parser;
+                    }))
+                    .onErrorResume(e -> {
+                        parser.finish();
+                        long duration = System.currentTimeMillis() - startTime;
+                        if (parser.scoredCount() == 0) {
+                            if (e instanceof java.util.concurrent.TimeoutException) {
+                                log.error("Timeout (45s) na chamada à API de IA após {}ms", duration);
+                            } else {
+                                log.warn("Erro ao chamar API de IA após {}ms: {}", duration, e.getMessage());
+                            }
+                            return Mono.error(e);
+                        }
+                        log.warn("Resposta parcial da API de IA após {}ms: {} de {} notas recebidas antes do erro: {}",
+                                duration, parser.scoredCount(), expectedScores, e.getMessage());
+                        return Mono.just(parser);
+                    });
         });
     }
 
     private List<NewsEvaluation> createFallbackSelection(List<NewsArticle> batch) {
         log.warn("Usando seleção alternativa para {} artigos", batch.size());
         List<NewsEvaluation> fallbackEvals = new ArrayList<>();
-        for (int i = 0; i < batch.size(); i++) {
-            NewsArticle article = batch.get(i);
-            int score = calculateBasicScore(article, i);
-            fallbackEvals.add(new NewsEvaluation(article, score));
+        for (NewsArticle article : batch) {
+            fallbackEvals.add(new NewsEvaluation(article, preRanker.toEditorScale(article), false));
         }
         return fallbackEvals;
     }
 
-    private int calculateBasicScore(NewsArticle article, int position) {
-        int score = 6;
-        String source = article.getSource().toLowerCase();
-        if (source.contains("techcrunch") || source.contains("verge") || source.contains("ars technica")) score += 2;
-        else if (source.contains("polygon") || source.contains("pc gamer")) score += 1;
-        if (position < 3) score += 1;
-        else if (position >= 5) score -= 1;
-        return Math.min(10, Math.max(3, score));
-    }
-
-    private List<NewsEvaluation> parseEvaluationResponse(String response, List<NewsArticle> batch) {
-        if (response == null || response.trim().isEmpty()) {
-            log.warn("Resposta da API vazia ou nula, usando seleção alternativa");
+    private List<NewsEvaluation> toEvaluations(StreamingScoreParser parser, List<NewsArticle> batch) {
+        if (parser.scoredCount() == 0) {
+            log.warn("Nenhuma avaliação válida extraída da resposta ({} caracteres, {} inválidas)",
+                    parser.responseLength(), parser.rejectedCount());
             return createFallbackSelection(batch);
         }
 
-        log.debug("Analisando resposta da API: {} caracteres", response.length());
-        List<NewsEvaluation> evaluations = new ArrayList<>();
-        Pattern pattern = Pattern.compile("NOTA(\\d+)\\s*:?\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(response);
-        int matchCount = 0;
-
-        while (matcher.find()) {
-            matchCount++;
-            try {
-                int index = Integer.parseInt(matcher.group(1)) - 1;
-                int score = Integer.parseInt(matcher.group(2));
-                if (index >= 0 && index < batch.size() && score >= 1 && score <= 10) {
-                    evaluations.add(new NewsEvaluation(batch.get(index), score));
-                    log.trace("Avaliação extraída: artigo {} com pontuação {}", index + 1, score);
-                } else {
-                    log.warn("Avaliação fora dos limites: índice={}, pontuação={}", index + 1, score);
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Erro ao analisar pontuação: {}", matcher.group());
+        List<NewsEvaluation> evaluations = new ArrayList<>(batch.size());
+        int missingCount = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            NewsArticle article = batch.get(i);
+            Integer score = parser.scoreAt(i);
+            if (score != null) {
+                evaluations.add(new NewsEvaluation(article, score, true, score, parser.isEscalated()));
+            } else {
+                evaluations.add(new NewsEvaluation(article, preRanker.toEditorScale(article), false));
+                missingCount++;
             }
         }
 
-        log.debug("Encontrados {} padrões de avaliação, {} válidos", matchCount, evaluations.size());
-
-        if (evaluations.isEmpty()) {
-            log.warn("Nenhuma avaliação válida extraída da resposta: '{}'", 
-                    response.length() > 100 ? response.substring(0, 100) + "..." : response);
-            return createFallbackSelection(batch);
-        }
-
-        if (evaluations.size() < batch.size()) {
-            int missingCount = 0;
-            for (int i = 0; i < batch.size(); i++) {
-                NewsArticle article = batch.get(i);
-                boolean found = evaluations.stream().anyMatch(e -> e.article.getUrl().equals(article.getUrl()));
-                if (!found) {
-                    evaluations.add(new NewsEvaluation(article, calculateBasicScore(article, i)));
-                    missingCount++;
-                }
-            }
+        if (missingCount > 0) {
             log.debug("Adicionadas {} avaliações alternativas para artigos não avaliados", missingCount);
         }
-
         return evaluations;
     }
 
     private List<NewsArticle> selectBestNews(List<NewsEvaluation> evaluations) {
-        return evaluations.stream()
-                .sorted(Comparator.comparingInt((NewsEvaluation e) -> e.score).reversed())
-                .limit(topNewsCount)
-                .map(e -> e.article)
-                .toList();
-    }
+        Comparator<NewsEvaluation> byRank = Comparator.comparingDouble(NewsEvaluation::rank);
+        PriorityQueue<NewsEvaluation> best = new PriorityQueue<>(Math.max(1, topNewsCount), byRank);
+        for (NewsEvaluation evaluation : evaluations) {
+            if (best.size() < topNewsCount) {
+                best.offer(evaluation);
+            } else if (topNewsCount > 0 && byRank.compare(evaluation, best.peek()) > 0) {
+                best.poll();
+                best.offer(evaluation);
+            }
+        }
 
-    private List<List<NewsArticle>> createBatches(List<NewsArticle> articles, int batchSize) {
-        List<List<NewsArticle>> batches = new ArrayList<>();
-        for (int i = 0; i < articles.size(); i += batchSize)
-            batches.add(articles.subList(i, Math.min(i + batchSize, articles.size())));
-        return batches;
+        return best.stream()
+                .sorted(byRank.reversed())
+                .map(NewsEvaluation::article)
+                .toList();
     }
 
+    private record NewsEvaluation(NewsArticle article, int score, boolean aiScored, double rank, boolean escalated) {
+        private NewsEvaluation(NewsArticle article, int score, boolean aiScored) {
+            this(article, score, aiScored, score, false);
+        }
 
-    private record NewsEvaluation(NewsArticle article, int score) {}
+        private NewsEvaluation withRank(double newRank) {
+            return new NewsEvaluation(article, score, aiScored, newRank, escalated);
+        }
+    }
 }
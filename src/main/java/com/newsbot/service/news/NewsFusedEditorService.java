@@ -0,0 +1,259 @@
+package com.newsbot.service.news;
+
+import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.prompt.PromptBudgetService;
+import com.newsbot.service.translation.NewsTranslationService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NewsFusedEditorService {
+
+    private final LlmGateway llmGateway;
+    private final NewsPreRanker preRanker;
+    private final PromptBudgetService promptBudget;
+    private final NewsTranslationService translationService;
+
+    @Value("${app.news.top-news-count:20}")
+    private int topNewsCount;
+
+    @Value("${app.news.fused.batch-size:10}")
+    private int batchSize;
+
+    @Value("${app.news.fused.batch-concurrency:2}")
+    private int batchConcurrency;
+
+    @Value("${app.news.fused.translate-threshold:7}")
+    private int translateThreshold;
+
+    @Value("${app.discord.max-description-length:400}")
+    private int maxDescriptionLength;
+
+    @Value("${app.discord.max-title-length:200}")
+    private int maxTitleLength;
+
+    private static final int MAX_TITLE_TOKENS = 60;
+    private static final int MAX_DESCRIPTION_TOKENS = 120;
+    private static final int ITEM_OVERHEAD_TOKENS = 12;
+    private static final int SCORE_COMPLETION_TOKENS = 12;
+    private static final int FALLBACK_TRANSLATION_CONCURRENCY = 4;
+
+    private static final String FUSED_SYSTEM_PROMPT = """
+        Você é um editor-chefe experiente de um portal brasileiro de tecnologia e jogos.
+        Para cada notícia, dê uma pontuação de 1 a 10 com base no título.
+
+        Critérios:
+        10 - Lançamentos revolucionários, grandes aquisições
+        8-9 - Atualizações importantes, jogos AAA muito aguardados
+        6-7 - Notícias interessantes de empresas conhecidas
+        4-5 - Conteúdo de nicho ou atualizações menores
+        1-3 - Baixa relevância ou muito específico
+
+        Para as notícias com pontuação maior ou igual a %d, preencha também:
+        - title: título traduzido para PORTUGUÊS BRASILEIRO, máximo de %d caracteres
+        - summary: resumo em português brasileiro, fluido e técnico, máximo de %d caracteres
+        Não traduza substantivos próprios (empresas, produtos).
+        Para as demais notícias, deixe title e summary vazios.
+        Use o mesmo id recebido para cada notícia.
+        """;
+
+    public Mono<List<SelectedNews>> selectAndTranslate(List<NewsArticle> allArticles) {
+        if (allArticles.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        log.info("Editor IA (modo combinado): avaliando e traduzindo {} artigos para selecionar os {} melhores",
+                allArticles.size(), topNewsCount);
+
+        return preRanker.shortlist(allArticles)
+                .flatMap(this::evaluateInBatches)
+                .map(this::selectBest)
+                .onErrorResume(e -> {
+                    log.warn("Modo combinado falhou, usando seleção alternativa: {}", e.getMessage());
+                    return Mono.just(preRanker.rank(allArticles).stream()
+                            .limit(topNewsCount)
+                            .map(article -> new FusedEvaluation(article, preRanker.toEditorScale(article), null))
+                            .toList());
+                })
+                .flatMap(this::completeTranslations)
+                .timeout(Duration.ofMinutes(10))
+                .doOnNext(selected -> log.info("Editor IA (modo combinado): {} artigos selecionados e traduzidos",
+                        selected.size()));
+    }
+
+    private Mono<List<FusedEvaluation>> evaluateInBatches(List<NewsArticle> articles) {
+        if (!llmGateway.hasBudget(LlmTask.FUSED)) {
+            log.warn("Orçamento de tokens da IA esgotado, usando o pré-ranqueamento para {} artigos", articles.size());
+            return Mono.just(articles.stream()
+                    .map(article -> new FusedEvaluation(article, preRanker.toEditorScale(article), null))
+                    .toList());
+        }
+
+        String systemPrompt = systemPrompt();
+        List<List<NewsArticle>> batches = promptBudget.partition(articles, this::articlePromptTokens,
+                promptBudget.estimateMessageTokens(systemPrompt), completionTokensPerItem(), Math.max(1, batchSize));
+        log.info("Modo combinado: {} artigos em {} lotes ({} lotes em paralelo)",
+                articles.size(), batches.size(), batchConcurrency);
+
+        return Flux.fromIterable(batches)
+                .flatMapSequential(batch -> evaluateBatch(batch, systemPrompt), Math.max(1, batchConcurrency))
+                .flatMapIterable(evaluations -> evaluations)
+                .collectList();
+    }
+
+    private Mono<List<FusedEvaluation>> evaluateBatch(List<NewsArticle> batch, String systemPrompt) {
+        String prompt = buildPrompt(batch);
+
+        return llmGateway.entity(LlmTask.FUSED, false, systemPrompt, prompt, FusedResponse.class)
+                .map(response -> toEvaluations(response, batch))
+                .flatMap(evaluations -> escalateIfIncomplete(evaluations, batch, systemPrompt, prompt))
+                .onErrorResume(e -> {
+                    log.warn("Falha no lote combinado de {} artigos, usando notas do pré-ranqueamento: {}",
+                            batch.size(), e.getMessage());
+                    return Mono.just(batch.stream()
+                            .map(article -> new FusedEvaluation(article, preRanker.toEditorScale(article), null))
+                            .toList());
+                });
+    }
+
+    private Mono<List<FusedEvaluation>> escalateIfIncomplete(List<FusedEvaluation> evaluations, List<NewsArticle> batch,
+                                                             String systemPrompt, String prompt) {
+        long covered = evaluations.stream().filter(e -> e.item() != null).count();
+        double coverage = (double) covered / batch.size();
+        if (coverage >= llmGateway.minCoverage(LlmTask.FUSED)) {
+            return Mono.just(evaluations);
+        }
+
+        return llmGateway.canEscalate(LlmTask.FUSED).flatMap(canEscalate -> {
+            if (!canEscalate) {
+                return Mono.just(evaluations);
+            }
+
+            log.warn("Modo combinado: cobertura de {}% abaixo do mínimo, repetindo lote com o modelo de escalonamento",
+                    Math.round(coverage * 100));
+            return llmGateway.entity(LlmTask.FUSED, true, systemPrompt, prompt, FusedResponse.class)
+                    .map(response -> toEvaluations(response, batch))
+                    .filter(escalated -> escalated.stream().filter(e -> e.item() != null).count() >= covered)
+                    .defaultIfEmpty(evaluations)
+                    .onErrorResume(e -> {
+                        log.warn("Escalonamento do lote combinado falhou, mantendo resultado parcial: {}", e.getMessage());
+                        return Mono.just(evaluations);
+                    });
+        });
+    }
+
+    private List<FusedEvaluation> toEvaluations(FusedResponse response, List<NewsArticle> batch) {
+        Map<Integer, FusedItem> itemsById = new HashMap<>();
+        if (response != null && response.items() != null) {
+            for (FusedItem item : response.items()) {
+                if (item != null && item.id() >= 1 && item.id() <= batch.size() && item.score() >= 1 && item.score() <= 10) {
+                    itemsById.putIfAbsent(item.id(), item);
+                }
+            }
+        }
+
+        if (itemsById.size() < batch.size()) {
+            log.debug("Modo combinado: {} de {} notas recebidas, completando com o pré-ranqueamento",
+                    itemsById.size(), batch.size());
+        }
+
+        List<FusedEvaluation> evaluations = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            NewsArticle article = batch.get(i);
+            FusedItem item = itemsById.get(i + 1);
+            evaluations.add(item != null
+                    ? new FusedEvaluation(article, item.score(), item)
+                    : new FusedEvaluation(article, preRanker.toEditorScale(article), null));
+        }
+        return evaluations;
+    }
+
+    private List<FusedEvaluation> selectBest(List<FusedEvaluation> evaluations) {
+        return evaluations.stream()
+                .sorted(Comparator.comparingInt(FusedEvaluation::score).reversed())
+                .limit(topNewsCount)
+                .toList();
+    }
+
+    private Mono<List<SelectedNews>> completeTranslations(List<FusedEvaluation> selected) {
+        return Flux.fromIterable(selected)
+                .flatMapSequential(evaluation -> {
+                    NewsArticle article = evaluation.article();
+                    return fusedTranslation(evaluation)
+                            .switchIfEmpty(Mono.defer(() -> translationService
+                                    .processSingleNews(article.getTitle(), article.getDescription())))
+                            .map(news -> new SelectedNews(article, news))
+                            .onErrorResume(e -> {
+                                log.warn("Falha ao traduzir '{}', ignorando artigo: {}", article.getTitle(), e.getMessage());
+                                return Mono.empty();
+                            });
+                }, FALLBACK_TRANSLATION_CONCURRENCY)
+                .collectList();
+    }
+
+    private Mono<NewsTranslationService.ProcessedNews> fusedTranslation(FusedEvaluation evaluation) {
+        FusedItem item = evaluation.item();
+        if (item == null || item.title() == null || item.title().isBlank()
+                || item.summary() == null || item.summary().isBlank()) {
+            return Mono.empty();
+        }
+        return translationService.adoptTranslation(item.title(), item.summary());
+    }
+
+    private String buildPrompt(List<NewsArticle> batch) {
+        StringBuilder prompt = new StringBuilder("Avalie as notícias abaixo:\n\n");
+        for (int i = 0; i < batch.size(); i++) {
+            NewsArticle article = batch.get(i);
+            String description = article.getDescription() != null && !article.getDescription().isBlank()
+                    ? promptBudget.truncateToTokens(article.getDescription(), MAX_DESCRIPTION_TOKENS)
+                    : "";
+            prompt.append(String.format("id %d [%s]%nTÍTULO: %s%nDESCRIÇÃO: %s%n%n", i + 1,
+                    article.getSource(), promptBudget.truncateToTokens(article.getTitle(), MAX_TITLE_TOKENS), description));
+        }
+        return prompt.toString();
+    }
+
+    private String systemPrompt() {
+        return String.format(FUSED_SYSTEM_PROMPT, translateThreshold, maxTitleLength, maxDescriptionLength);
+    }
+
+    private int articlePromptTokens(NewsArticle article) {
+        return Math.min(MAX_TITLE_TOKENS, promptBudget.estimateTokens(article.getTitle()))
+                + Math.min(MAX_DESCRIPTION_TOKENS, promptBudget.estimateTokens(article.getDescription()))
+                + ITEM_OVERHEAD_TOKENS;
+    }
+
+    private int completionTokensPerItem() {
+        return promptBudget.estimateTokens("x".repeat(maxTitleLength + maxDescriptionLength)) + SCORE_COMPLETION_TOKENS;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SelectedNews {
+        private NewsArticle article;
+        private NewsTranslationService.ProcessedNews news;
+    }
+
+    record FusedResponse(List<FusedItem> items) {}
+
+    record FusedItem(int id, int score, String title, String summary) {}
+
+    private record FusedEvaluation(NewsArticle article, int score, FusedItem item) {}
+}
@@ -0,0 +1,197 @@
+package com.newsbot.service.news;
+
+import com.newsbot.config.NewsConfig;
+import com.newsbot.model.NewsArticle;
+import com.newsbot.model.SourceSelectionStats;
+import com.newsbot.repository.NewsArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NewsPreRanker {
+
+    private final NewsConfig newsConfig;
+    private final NewsArticleRepository newsRepository;
+
+    private static final double HISTORY_SMOOTHING = 20.0;
+    private static final double MAX_HISTORY_ADJUSTMENT = 1.5;
+    private static final double EDITOR_SCALE_BASE = 5.0;
+
+    private static final Pattern COMMERCE_PATTERN = Pattern.compile(
+            "\\b(deals?|sale|coupon|discount|promo code|% off|lowest price|best .{1,40} to buy)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d");
+
+    private volatile Map<String, Double> sourceAdjustments = Map.of();
+    private volatile Instant sourceStatsLoadedAt = Instant.EPOCH;
+    private volatile Map<Pattern, Double> keywordPatterns;
+
+    public Mono<List<NewsArticle>> shortlist(List<NewsArticle> articles) {
+        NewsConfig.PreRanker config = newsConfig.getPreRanker();
+        if (!config.isEnabled()) {
+            return Mono.just(articles);
+        }
+
+        return refreshSourceStats()
+                .then(Mono.fromCallable(() -> {
+                    List<NewsArticle> ranked = rank(articles);
+                    int shortlistSize = config.getShortlistSize();
+                    if (shortlistSize <= 0 || ranked.size() <= shortlistSize) {
+                        return ranked;
+                    }
+                    log.info("Pré-ranqueamento: {} de {} artigos seguem para avaliação da IA",
+                            shortlistSize, ranked.size());
+                    return List.copyOf(ranked.subList(0, shortlistSize));
+                }));
+    }
+
+    public List<NewsArticle> rank(List<NewsArticle> articles) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ScoredArticle> scored = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            scored.add(new ScoredArticle(article, score(article, now)));
+        }
+        scored.sort(Comparator.comparingDouble(ScoredArticle::score).reversed());
+        return scored.stream().map(ScoredArticle::article).toList();
+    }
+
+    public int toEditorScale(NewsArticle article) {
+        long score = Math.round(EDITOR_SCALE_BASE + score(article, LocalDateTime.now()));
+        return (int) Math.min(10, Math.max(1, score));
+    }
+
+    double score(NewsArticle article, LocalDateTime now) {
+        NewsConfig.PreRanker config = newsConfig.getPreRanker();
+        String source = article.getSource() != null ? article.getSource().toLowerCase(Locale.ROOT) : "";
+        String title = article.getTitle() != null ? article.getTitle() : "";
+
+        double score = sourcePrior(source, config);
+        score += sourceAdjustments.getOrDefault(source, 0.0);
+        score += recency(article.getPublishedDate(), now, config);
+        score += titleFeatures(title);
+        score += keywords(title);
+        return score;
+    }
+
+    private double sourcePrior(String source, NewsConfig.PreRanker config) {
+        double prior = 0;
+        for (Map.Entry<String, Double> entry : config.getSourcePriors().entrySet()) {
+            if (source.contains(entry.getKey().toLowerCase(Locale.ROOT))) {
+                prior = Math.max(prior, entry.getValue());
+            }
+        }
+        return prior;
+    }
+
+    private double recency(LocalDateTime publishedDate, LocalDateTime now, NewsConfig.PreRanker config) {
+        if (publishedDate == null || config.getRecencyHalfLife().isZero()) {
+            return 0;
+        }
+        double ageHours = Math.max(0, Duration.between(publishedDate, now).toMinutes() / 60.0);
+        double halfLifeHours = config.getRecencyHalfLife().toMinutes() / 60.0;
+        return config.getRecencyWeight() * Math.pow(0.5, ageHours / halfLifeHours);
+    }
+
+    private double titleFeatures(String title) {
+        double score = 0;
+        int length = title.length();
+        if (length < 20) {
+            score -= 1.0;
+        } else if (length <= 110) {
+            score += 0.5;
+        }
+        if (NUMBER_PATTERN.matcher(title).find()) {
+            score += 0.2;
+        }
+        if (title.endsWith("?")) {
+            score -= 0.3;
+        }
+        if (COMMERCE_PATTERN.matcher(title).find()) {
+            score -= 1.5;
+        }
+        return score;
+    }
+
+    private double keywords(String title) {
+        double score = 0;
+        for (Map.Entry<Pattern, Double> entry : keywordPatterns().entrySet()) {
+            if (entry.getKey().matcher(title).find()) {
+                score += entry.getValue();
+            }
+        }
+        return score;
+    }
+
+    private Map<Pattern, Double> keywordPatterns() {
+        Map<Pattern, Double> patterns = keywordPatterns;
+        if (patterns == null) {
+            patterns = new HashMap<>();
+            for (Map.Entry<String, Double> entry : newsConfig.getPreRanker().getKeywordWeights().entrySet()) {
+                patterns.put(Pattern.compile("\\b" + Pattern.quote(entry.getKey()) + "\\b", Pattern.CASE_INSENSITIVE),
+                        entry.getValue());
+            }
+            keywordPatterns = patterns;
+        }
+        return patterns;
+    }
+
+    private Mono<Void> refreshSourceStats() {
+        NewsConfig.PreRanker config = newsConfig.getPreRanker();
+        if (Duration.between(sourceStatsLoadedAt, Instant.now()).compareTo(config.getHistoryRefreshInterval()) < 0) {
+            return Mono.empty();
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(config.getHistoryWindow());
+        return Mono.defer(() -> newsRepository.findSourceSelectionStats(since).collectList())
+                .doOnNext(stats -> {
+                    sourceAdjustments = computeSourceAdjustments(stats, config.getHistoryWeight());
+                    sourceStatsLoadedAt = Instant.now();
+                    log.debug("Pré-ranqueamento: taxas históricas de seleção carregadas para {} fontes", stats.size());
+                })
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Não foi possível carregar o histórico de seleção por fonte: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Map<String, Double> computeSourceAdjustments(List<SourceSelectionStats> stats, double weight) {
+        long total = stats.stream().mapToLong(s -> s.total() != null ? s.total() : 0).sum();
+        long sent = stats.stream().mapToLong(s -> s.sent() != null ? s.sent() : 0).sum();
+        if (total == 0 || sent == 0) {
+            return Map.of();
+        }
+
+        double globalRate = (double) sent / total;
+        Map<String, Double> adjustments = new HashMap<>();
+        for (SourceSelectionStats stat : stats) {
+            if (stat.source() == null) {
+                continue;
+            }
+            long sourceTotal = stat.total() != null ? stat.total() : 0;
+            long sourceSent = stat.sent() != null ? stat.sent() : 0;
+            double smoothedRate = (sourceSent + globalRate * HISTORY_SMOOTHING) / (sourceTotal + HISTORY_SMOOTHING);
+            double relative = (smoothedRate - globalRate) / globalRate;
+            double adjustment = weight * Math.max(-MAX_HISTORY_ADJUSTMENT, Math.min(MAX_HISTORY_ADJUSTMENT, relative));
+            adjustments.put(stat.source().toLowerCase(Locale.ROOT), adjustment);
+        }
+        return adjustments;
+    }
+
+    private record ScoredArticle(NewsArticle article, double score) {}
+}
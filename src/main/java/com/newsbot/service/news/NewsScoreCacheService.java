@@ -0,0 +1,92 @@
+package com.newsbot.service.news;
+
+import com.newsbot.model.NewsArticle;
+import com.newsbot.model.NewsScore;
+import com.newsbot.repository.NewsScoreRepository;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NewsScoreCacheService {
+
+    private final NewsScoreRepository scoreRepository;
+    private final LlmGateway llmGateway;
+
+    @Value("${app.news.score-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.news.score-cache.ttl:7d}")
+    private Duration ttl;
+
+    private final Map<String, String> promptHashes = new ConcurrentHashMap<>();
+
+    public Mono<Map<String, Integer>> findCachedScores(List<NewsArticle> articles, String systemPrompt) {
+        if (!enabled) {
+            return Mono.just(Map.of());
+        }
+
+        List<String> contentHashes = articles.stream()
+                .map(NewsArticle::getContentHash)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (contentHashes.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(ttl);
+        return llmGateway.model(LlmTask.SCORING)
+                .flatMap(model -> scoreRepository.findValidScores(contentHashes, promptHash(systemPrompt), model, since)
+                        .collect(Collectors.toMap(NewsScore::getContentHash, NewsScore::getScore, (first, second) -> first)))
+                .doOnNext(scores -> log.debug("Cache de notas: {} de {} artigos encontrados",
+                        scores.size(), contentHashes.size()));
+    }
+
+    public Mono<Void> saveScores(Map<String, Integer> scoresByContentHash, String systemPrompt) {
+        if (!enabled || scoresByContentHash.isEmpty()) {
+            return Mono.empty();
+        }
+
+        String promptHash = promptHash(systemPrompt);
+        LocalDateTime now = LocalDateTime.now();
+
+        return llmGateway.model(LlmTask.SCORING)
+                .flatMapMany(model -> Flux.fromIterable(scoresByContentHash.entrySet())
+                        .flatMap(entry -> scoreRepository.upsertScore(entry.getKey(), promptHash, model, entry.getValue(), now)))
+                .then()
+                .doOnSuccess(v -> log.debug("Cache de notas: {} notas armazenadas", scoresByContentHash.size()))
+                .doOnError(error -> log.error("Erro ao armazenar notas no cache: {}", error.getMessage()));
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "America/Sao_Paulo")
+    public void purgeExpiredScores() {
+        scoreRepository.deleteScoredBefore(LocalDateTime.now().minus(ttl))
+                .subscribe(
+                        count -> log.info("Cache de notas: {} notas expiradas removidas", count),
+                        error -> log.error("Erro ao remover notas expiradas: {}", error.getMessage())
+                );
+    }
+
+    private String promptHash(String systemPrompt) {
+        return promptHashes.computeIfAbsent(systemPrompt, ContentDuplicateDetector::sha256);
+    }
+}
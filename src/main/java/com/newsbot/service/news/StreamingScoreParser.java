@@ -0,0 +1,95 @@
+package com.newsbot.service.news;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+class StreamingScoreParser {
+
+    private static final Pattern COMPLETE_SCORE_PATTERN =
+            Pattern.compile("NOTA(\\d++)\\s*+:?\\s*+(\\d++)(?=\\D)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRAILING_SCORE_PATTERN =
+            Pattern.compile("NOTA(\\d++)\\s*+:?\\s*+(\\d++)", Pattern.CASE_INSENSITIVE);
+
+    private final Integer[] scores;
+    private final boolean escalated;
+    private final StringBuilder buffer = new StringBuilder();
+    private int scanFrom;
+    private int scoredCount;
+    private int rejectedCount;
+
+    StreamingScoreParser(int expectedScores) {
+        this(expectedScores, false);
+    }
+
+    StreamingScoreParser(int expectedScores, boolean escalated) {
+        this.scores = new Integer[expectedScores];
+        this.escalated = escalated;
+    }
+
+    boolean isEscalated() {
+        return escalated;
+    }
+
+    synchronized void accept(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        buffer.append(chunk);
+        scan(COMPLETE_SCORE_PATTERN);
+    }
+
+    synchronized void finish() {
+        scan(TRAILING_SCORE_PATTERN);
+    }
+
+    synchronized boolean isComplete() {
+        return scoredCount == scores.length;
+    }
+
+    synchronized int scoredCount() {
+        return scoredCount;
+    }
+
+    synchronized int rejectedCount() {
+        return rejectedCount;
+    }
+
+    synchronized Integer scoreAt(int index) {
+        return scores[index];
+    }
+
+    synchronized int responseLength() {
+        return buffer.length();
+    }
+
+    private void scan(Pattern pattern) {
+        Matcher matcher = pattern.matcher(buffer);
+        while (scanFrom < buffer.length() && matcher.find(scanFrom)) {
+            scanFrom = matcher.end();
+            register(matcher.group(1), matcher.group(2));
+        }
+    }
+
+    private void register(String indexText, String scoreText) {
+        try {
+            int index = Integer.parseInt(indexText) - 1;
+            int score = Integer.parseInt(scoreText);
+            if (index < 0 || index >= scores.length || score < 1 || score > 10) {
+                rejectedCount++;
+                log.warn("Avaliação fora dos limites: índice={}, pontuação={}", index + 1, score);
+                return;
+            }
+            if (scores[index] == null) {
+                scoredCount++;
+            }
+            scores[index] = score;
+            log.trace("Avaliação extraída: artigo {} com pontuação {}", index + 1, score);
+        } catch (NumberFormatException e) {
+            rejectedCount++;
+            log.warn("Erro ao analisar pontuação: NOTA{}: {}", indexText, scoreText);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.newsbot.service.prompt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@Slf4j
+@Service
+public class PromptBudgetService {
+
+    private static final double CHARS_PER_TOKEN = 3.5;
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+    private static final String ELLIPSIS = "...";
+
+    @Value("${app.ai.prompt.max-request-tokens:6000}")
+    private int maxRequestTokens;
+
+    @Value("${app.ai.prompt.context-window:128000}")
+    private int contextWindow;
+
+    public int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(text.length() / CHARS_PER_TOKEN);
+    }
+
+    public int estimateMessageTokens(String... messages) {
+        int tokens = 0;
+        for (String message : messages) {
+            tokens += estimateTokens(message) + MESSAGE_OVERHEAD_TOKENS;
+        }
+        return tokens;
+    }
+
+    public int requestBudget() {
+        return Math.max(1, Math.min(maxRequestTokens, contextWindow));
+    }
+
+    public boolean fits(int promptTokens, int completionTokens) {
+        return promptTokens + completionTokens <= requestBudget();
+    }
+
+    public String truncateToTokens(String text, int maxTokens) {
+        if (text == null || estimateTokens(text) <= maxTokens) {
+            return text;
+        }
+
+        int maxChars = (int) (maxTokens * CHARS_PER_TOKEN) - ELLIPSIS.length();
+        if (maxChars <= 0) {
+            return "";
+        }
+
+        String head = text.substring(0, maxChars);
+        int sentenceEnd = Math.max(head.lastIndexOf(". "), Math.max(head.lastIndexOf("! "), head.lastIndexOf("? ")));
+        if (sentenceEnd > maxChars / 2) {
+            return head.substring(0, sentenceEnd + 1);
+        }
+
+        int wordEnd = head.lastIndexOf(' ');
+        if (wordEnd > maxChars / 2) {
+            head = head.substring(0, wordEnd);
+        }
+        return head.stripTrailing() + ELLIPSIS;
+    }
+
+    public <T> List<List<T>> partition(List<T> items, ToIntFunction<T> itemTokens, int fixedTokens,
+                                       int completionTokensPerItem, int maxItemsPerBatch) {
+        int budget = requestBudget();
+        int maxItems = maxItemsPerBatch > 0 ? maxItemsPerBatch : Integer.MAX_VALUE;
+
+        List<List<T>> batches = new ArrayList<>();
+        List<T> current = new ArrayList<>();
+        int currentTokens = fixedTokens;
+
+        for (T item : items) {
+            int cost = itemTokens.applyAsInt(item) + completionTokensPerItem;
+            boolean full = current.size() >= maxItems || currentTokens + cost > budget;
+            if (full && !current.isEmpty()) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = fixedTokens;
+            }
+            if (fixedTokens + cost > budget) {
+                log.warn("Item excede sozinho o orçamento de {} tokens ({} tokens), enviando em lote próprio",
+                        budget, fixedTokens + cost);
+            }
+            current.add(item);
+            currentTokens += cost;
+        }
+
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+}
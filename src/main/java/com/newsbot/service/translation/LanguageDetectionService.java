@@ -1,21 +1,80 @@
 package com.newsbot.service.translation;
 
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
 import org.apache.tika.language.detect.LanguageDetector;
 import org.apache.tika.language.detect.LanguageResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 
 @Slf4j
 @Service
 public class LanguageDetectionService {
 
-    private final LanguageDetector langDetector;
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{L}]+");
+    private static final Pattern PORTUGUESE_CHARS = Pattern.compile("[ãõçâêôáéíóúà]");
+    private static final Set<String> PORTUGUESE_WORDS = Set.of(
+            "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas", "para", "com", "não", "uma", "um",
+            "que", "e", "o", "os", "as", "ao", "por", "mais", "novo", "nova", "sobre", "seu", "sua");
+    private static final Set<String> ENGLISH_WORDS = Set.of(
+            "the", "and", "of", "to", "for", "with", "is", "in", "on", "new", "from", "your", "how", "what",
+            "why", "at", "by", "it", "this", "that", "are", "its", "you", "will", "about");
+
+    private final ContentDuplicateDetector contentDuplicateDetector;
+    private final BlockingQueue<LanguageDetector> idleDetectors = new LinkedBlockingQueue<>();
+    private final AtomicInteger createdDetectors = new AtomicInteger();
+    private final LruCache<String, Detection> resultCache;
+    private final int poolSize;
+    private final int shortTextLength;
+    private final Set<String> languages;
+    private final boolean preload;
+
+    public LanguageDetectionService(ContentDuplicateDetector contentDuplicateDetector,
+                                    @Value("${app.translation.language-detection.pool-size:2}") int poolSize,
+                                    @Value("${app.translation.language-detection.cache-size:1000}") int cacheSize,
+                                    @Value("${app.translation.language-detection.short-text-length:40}") int shortTextLength,
+                                    @Value("${app.translation.language-detection.languages:pt,en,es}") List<String> languages,
+                                    @Value("${app.translation.language-detection.preload:true}") boolean preload) {
+        this.contentDuplicateDetector = contentDuplicateDetector;
+        this.poolSize = Math.max(1, poolSize);
+        this.resultCache = new LruCache<>(cacheSize);
+        this.shortTextLength = shortTextLength;
+        this.languages = normalizeLanguages(languages);
+        this.preload = preload;
+
+        log.info("Detector de idioma configurado (idiomas: {}, pool de até {} detectores, carregamento {})",
+                this.languages.isEmpty() ? "todos" : this.languages, this.poolSize,
+                preload ? "em segundo plano" : "sob demanda");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadModels() {
+        if (!preload) {
+            return;
+        }
 
-    public LanguageDetectionService() {
-        this.langDetector = new OptimaizeLangDetector().loadModels();
-        log.info("Detector de idioma inicializado");
+        Mono.fromRunnable(this::warmUp)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        v -> { },
+                        error -> log.warn("Falha ao pré-carregar modelos de idioma: {}", error.getMessage())
+                );
     }
 
     public boolean isPortuguese(String text) {
@@ -24,22 +83,150 @@ public class LanguageDetectionService {
             return false;
         }
 
+        if (text.length() < shortTextLength) {
+            return isPortugueseShortText(text);
+        }
+
+        Detection detection = detect(text);
+        if (detection == null) {
+            return true;
+        }
+
+        boolean isEnglishWithHighConfidence = detection.language().equals("en") && detection.rawScore() > 0.90;
+        if (isEnglishWithHighConfidence) {
+            log.debug("Texto detectado como inglês com alta confiança - pontuação: {}", detection.rawScore());
+            return false;
+        }
+
+        log.debug("Texto aceito como português - idioma detectado: {}, pontuação: {}",
+                detection.language(), detection.rawScore());
+        return true;
+    }
+
+    public boolean isConfidentlyPortuguese(String text, double minConfidence) {
+        if (text == null || text.length() < shortTextLength) {
+            return false;
+        }
+
+        Detection detection = detect(text);
+        boolean confident = detection != null && detection.language().equals("pt") && detection.rawScore() >= minConfidence;
+        if (confident) {
+            log.debug("Texto já em português com alta confiança - pontuação: {}", detection.rawScore());
+        }
+        return confident;
+    }
+
+    private Detection detect(String text) {
+        String key = contentDuplicateDetector.generateContentHash(text);
+        Detection cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        LanguageDetector detector = null;
         try {
-            LanguageResult result = langDetector.detect(text);
-            boolean isEnglishWithHighConfidence = result.getLanguage().equals("en") && result.getRawScore() > 0.90;
+            detector = acquire();
+            LanguageResult result = detector.detect(text);
+            Detection detection = new Detection(result.getLanguage(), result.getRawScore());
+            resultCache.put(key, detection);
+            return detection;
 
-            if (isEnglishWithHighConfidence) {
-                log.debug("Texto detectado como inglês com alta confiança - pontuação: {}", result.getRawScore());
-                return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Detecção de idioma interrompida, assumindo como português");
+            return null;
+        } catch (Exception e) {
+            log.warn("Erro na detecção de idioma, assumindo como português: {}", e.getMessage());
+            return null;
+        } finally {
+            if (detector != null) {
+                idleDetectors.offer(detector);
             }
+        }
+    }
 
-            log.debug("Texto aceito como português - idioma detectado: {}, pontuação: {}",
-                    result.getLanguage(), result.getRawScore());
-            return true;
+    private boolean isPortugueseShortText(String text) {
+        int portuguese = PORTUGUESE_CHARS.matcher(text.toLowerCase(Locale.ROOT)).find() ? 1 : 0;
+        int english = 0;
+        for (String word : WORD_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (PORTUGUESE_WORDS.contains(word)) {
+                portuguese++;
+            } else if (ENGLISH_WORDS.contains(word)) {
+                english++;
+            }
+        }
+
+        boolean accepted = english <= portuguese;
+        log.debug("Texto curto {} como português (marcadores pt={}, en={})",
+                accepted ? "aceito" : "rejeitado", portuguese, english);
+        return accepted;
+    }
+
+    private void warmUp() {
+        LanguageDetector detector = null;
+        try {
+            detector = acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (detector != null) {
+                idleDetectors.offer(detector);
+            }
+        }
+    }
 
+    private LanguageDetector acquire() throws InterruptedException {
+        LanguageDetector detector = idleDetectors.poll();
+        if (detector != null) {
+            return detector;
+        }
+
+        if (createdDetectors.incrementAndGet() <= poolSize) {
+            try {
+                log.debug("Criando detector de idioma adicional ({} de {})", createdDetectors.get(), poolSize);
+                return createDetector();
+            } catch (RuntimeException e) {
+                createdDetectors.decrementAndGet();
+                throw e;
+            }
+        }
+        createdDetectors.decrementAndGet();
+        return idleDetectors.take();
+    }
+
+    private LanguageDetector createDetector() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+
+        LanguageDetector detector;
+        try {
+            detector = languages.isEmpty()
+                    ? new OptimaizeLangDetector().loadModels()
+                    : new OptimaizeLangDetector().loadModels(languages);
         } catch (Exception e) {
-            log.warn("Erro na detecção de idioma, assumindo como português: {}", e.getMessage());
-            return true;
+            throw new IllegalStateException("Falha ao carregar modelos de idioma", e);
         }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+        log.info("Modelos de idioma carregados ({}) em {} ms, ~{} MB de heap",
+                languages.isEmpty() ? "todos" : languages, elapsedMs,
+                Math.max(0, usedAfter - usedBefore) / (1024 * 1024));
+        return detector;
+    }
+
+    private static Set<String> normalizeLanguages(List<String> languages) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (languages != null) {
+            for (String language : languages) {
+                if (language != null && !language.isBlank()) {
+                    normalized.add(language.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(normalized);
     }
+
+    private record Detection(String language, float rawScore) {}
 }
@@ -3,6 +3,11 @@ package com.newsbot.service.translation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -11,6 +16,8 @@ public class NewsAIResponseParser {
 
     private static final Pattern TITLE_PATTERN = Pattern.compile("^T[ÍI]TULO\\s*:\\s*(.+)", Pattern.CASE_INSENSITIVE);
     private static final Pattern SUMMARY_PATTERN = Pattern.compile("(?i)RESUMO\\s*[:：]\\s*(.*)", Pattern.DOTALL);
+    private static final Pattern SECTION_HEADER_PATTERN = Pattern.compile("(?m)^\\s*\\[(\\d{1,4})\\]\\s*");
+    private static final Pattern SECTION_TITLE_PATTERN = Pattern.compile("(?im)^\\s*T[ÍI]TULO\\s*:\\s*(.+)$");
 
     public NewsTranslationService.ProcessedNews parseResponse(String response, String originalTitle, String originalDescription,
                                        int maxTitleLength, int maxDescriptionLength) {
@@ -25,6 +32,68 @@ public class NewsAIResponseParser {
                 .build();
     }
 
+    public Map<Integer, NewsTranslationService.ProcessedNews> parseBatchResponse(String response, int expectedItems,
+                                                                               int maxTitleLength, int maxDescriptionLength) {
+        Map<Integer, NewsTranslationService.ProcessedNews> parsed = new HashMap<>();
+        if (response == null || response.isBlank()) {
+            log.warn("Resposta vazia da IA para tradução em lote");
+            return parsed;
+        }
+
+        Matcher header = SECTION_HEADER_PATTERN.matcher(response);
+        List<int[]> sections = new ArrayList<>();
+        while (header.find()) {
+            sections.add(new int[]{Integer.parseInt(header.group(1)) - 1, header.start(), header.end()});
+        }
+
+        for (int i = 0; i < sections.size(); i++) {
+            int index = sections.get(i)[0];
+            int sectionEnd = i + 1 < sections.size() ? sections.get(i + 1)[1] : response.length();
+            String section = response.substring(sections.get(i)[2], sectionEnd);
+
+            if (index < 0 || index >= expectedItems || parsed.containsKey(index)) {
+                log.warn("Seção de tradução ignorada: índice {} inválido ou repetido", index + 1);
+                continue;
+            }
+
+            Matcher title = SECTION_TITLE_PATTERN.matcher(section);
+            Matcher summary = SUMMARY_PATTERN.matcher(section);
+            if (!title.find() || !summary.find()) {
+                log.debug("Seção {} sem TÍTULO ou RESUMO, será reprocessada individualmente", index + 1);
+                continue;
+            }
+
+            String parsedTitle = clean(title.group(1));
+            String parsedSummary = clean(summary.group(1));
+            if (parsedTitle.isEmpty() || parsedSummary.isEmpty()) {
+                continue;
+            }
+
+            parsed.put(index, NewsTranslationService.ProcessedNews.builder()
+                    .title(truncate(parsedTitle, maxTitleLength))
+                    .description(truncate(parsedSummary, maxDescriptionLength))
+                    .build());
+        }
+
+        log.debug("Tradução em lote: {} de {} seções extraídas", parsed.size(), expectedItems);
+        return parsed;
+    }
+
+    public NewsTranslationService.ProcessedNews polish(String title, String description,
+                                                       int maxTitleLength, int maxDescriptionLength) {
+        String cleanTitle = title != null ? clean(title) : "";
+        String cleanDescription = description != null && !description.isBlank() ? clean(description) : cleanTitle;
+
+        return NewsTranslationService.ProcessedNews.builder()
+                .title(truncate(cleanTitle, maxTitleLength))
+                .description(truncate(cleanDescription, maxDescriptionLength))
+                .build();
+    }
+
+    private String clean(String text) {
+        return text.trim().replaceAll("^[\"']|[\"']$", "");
+    }
+
     private String extractSection(String text, Pattern pattern, String defaultValue) {
         var matcher = pattern.matcher(text);
         if (matcher.find()) {
@@ -1,25 +1,31 @@
 package com.newsbot.service.translation;
 
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.prompt.PromptBudgetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NewsTranslationService {
 
-    private final ChatClient chatClient;
+    private final LlmGateway llmGateway;
     private final LanguageDetectionService languageDetectionService;
     private final NewsAIResponseParser responseParser;
+    private final PromptBudgetService promptBudget;
+    private final TranslationCacheService translationCache;
 
     @Value("${app.discord.max-description-length:400}")
     private int maxDescriptionLength;
@@ -27,6 +33,60 @@ public class NewsTranslationService {
     @Value("${app.discord.max-title-length:200}")
     private int maxTitleLength;
 
+    @Value("${app.ai.prompt.translation-description-max-tokens:300}")
+    private int descriptionMaxTokens;
+
+    @Value("${app.translation.language-gate.enabled:false}")
+    private boolean languageGateEnabled;
+
+    @Value("${app.translation.language-gate.min-confidence:0.95}")
+    private double languageGateMinConfidence;
+
+    @Value("${app.translation.batch-size:5}")
+    private int batchSize;
+
+    @Value("${app.translation.batch-concurrency:2}")
+    private int batchConcurrency;
+
+    private static final int TRANSLATION_TITLE_MAX_TOKENS = 80;
+    private static final int SECTION_OVERHEAD_TOKENS = 12;
+    private static final int SINGLE_RETRY_CONCURRENCY = 2;
+
+    private static final String TRANSLATION_PROMPT_TEMPLATE = """
+            Você é um tradutor profissional especializado em notícias de tecnologia e jogos.
+            Traduza o conteúdo abaixo para PORTUGUÊS BRASILEIRO, mantendo clareza e substantivos próprios.
+
+            Regras:
+            - Sempre responda 100%% em português brasileiro
+            - Não traduza substantivos próprios (empresas, produtos)
+            - Resuma de maneira fluida e técnica
+            - Título máximo de %d caracteres, Resumo máximo de %d caracteres
+            - Se já estiver em português, apenas melhore a escrita
+
+            TÍTULO ORIGINAL: %s
+            DESCRIÇÃO ORIGINAL: %s
+
+            Responda exatamente neste formato:
+            TÍTULO: [tradução]
+            RESUMO: [resumo em português]
+            """;
+
+    private static final String BATCH_TRANSLATION_PROMPT_TEMPLATE = """
+            Você é um tradutor profissional especializado em notícias de tecnologia e jogos.
+            Traduza CADA notícia abaixo para PORTUGUÊS BRASILEIRO, mantendo clareza e substantivos próprios.
+
+            Regras:
+            - Sempre responda 100%% em português brasileiro
+            - Não traduza substantivos próprios (empresas, produtos)
+            - Resuma de maneira fluida e técnica
+            - Título máximo de %d caracteres, Resumo máximo de %d caracteres
+            - Se já estiver em português, apenas melhore a escrita
+            - Responda todas as %d notícias, na mesma ordem, mantendo o número entre colchetes
+
+            %s
+            Responda exatamente neste formato, uma seção por notícia:
+            %s""";
+
     public Flux<ProcessedNews> processAllNews(Flux<NewsInput> newsFlux) {
         return newsFlux.flatMap(news ->
                 processSingleNews(news.getTitle(), news.getDescription())
@@ -39,40 +99,188 @@ public class NewsTranslationService {
     }
 
     public Mono<ProcessedNews> processSingleNews(String originalTitle, String originalDescription) {
+        return alreadyInTargetLanguage(originalTitle, originalDescription)
+                .switchIfEmpty(Mono.defer(() -> translationCache.find(originalTitle, originalDescription, promptVersion())))
+                .switchIfEmpty(Mono.defer(() -> translateAndValidate(originalTitle, originalDescription)
+                        .flatMap(result -> translationCache.save(originalTitle, originalDescription, promptVersion(), result)
+                                .thenReturn(result))));
+    }
+
+    public Mono<ProcessedNews> adoptTranslation(String translatedTitle, String translatedDescription) {
+        return Mono.fromCallable(() -> responseParser.polish(translatedTitle, translatedDescription,
+                        maxTitleLength, maxDescriptionLength))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(result -> {
+                    if (!isConsistentTranslation(result)) {
+                        log.warn("Tradução inconsistente para '{}', será traduzida novamente", result.getTitle());
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    private Mono<ProcessedNews> alreadyInTargetLanguage(String title, String description) {
+        if (!languageGateEnabled) {
+            return Mono.empty();
+        }
+
+        String text = description != null && !description.isBlank() ? title + ". " + description : title;
+        return Mono.fromCallable(() -> languageDetectionService.isConfidentlyPortuguese(text, languageGateMinConfidence))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(Boolean::booleanValue)
+                .map(portuguese -> {
+                    log.info("Notícia já em português, dispensando tradução: '{}'", title);
+                    return responseParser.polish(title, description, maxTitleLength, maxDescriptionLength);
+                });
+    }
+
+    private Mono<ProcessedNews> translateAndValidate(String originalTitle, String originalDescription) {
         return translateWithAI(originalTitle, originalDescription)
                 .timeout(Duration.ofSeconds(90))
-                .retryWhen(Retry.backoff(2, Duration.ofSeconds(3))
-                        .maxBackoff(Duration.ofSeconds(8))
-                        .filter(this::isRetryableError))
                 .onErrorResume(error -> {
                     log.warn("Falha persistente na tradução da notícia '{}': {} - ignorando",
                             originalTitle, error.getMessage());
                     return Mono.empty();
                 })
-                .flatMap(result -> {
-                    if (!languageDetectionService.isPortuguese(result.getTitle()) ||
-                            !languageDetectionService.isPortuguese(result.getDescription())) {
+                .flatMap(result -> checkConsistency(result).flatMap(consistent -> {
+                    if (!consistent) {
                         log.warn("Tradução inconsistente para '{}', descartando notícia", result.getTitle());
                         return Mono.empty();
                     }
                     log.info("Tradução concluída: '{}'", result.getTitle());
                     return Mono.just(result);
+                }));
+    }
+
+    public Flux<IndexedNews> processNewsBatch(List<NewsInput> inputs) {
+        if (inputs.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return Flux.range(0, inputs.size())
+                .flatMapSequential(index -> alreadyInTargetLanguage(inputs.get(index).getTitle(),
+                                inputs.get(index).getDescription())
+                        .switchIfEmpty(Mono.defer(() -> translationCache.find(inputs.get(index).getTitle(),
+                                inputs.get(index).getDescription(), promptVersion())))
+                        .map(cached -> new IndexedNews(index, cached))
+                        .defaultIfEmpty(new IndexedNews(index, null)))
+                .collectList()
+                .flatMapMany(lookups -> {
+                    List<IndexedNews> cached = lookups.stream().filter(lookup -> lookup.getNews() != null).toList();
+                    List<Integer> pending = lookups.stream()
+                            .filter(lookup -> lookup.getNews() == null)
+                            .map(IndexedNews::getIndex)
+                            .toList();
+
+                    if (!cached.isEmpty()) {
+                        log.info("{} de {} notícias dispensam tradução (cache ou já em português)",
+                                cached.size(), inputs.size());
+                    }
+                    return Flux.fromIterable(cached).concatWith(translatePending(pending, inputs));
+                });
+    }
+
+    private Flux<IndexedNews> translatePending(List<Integer> pending, List<NewsInput> inputs) {
+        if (pending.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<List<Integer>> batches = promptBudget.partition(pending,
+                index -> inputPromptTokens(inputs.get(index)),
+                promptBudget.estimateMessageTokens(buildBatchTranslationPrompt(List.of())),
+                completionTokensPerItem(),
+                Math.max(1, batchSize));
+
+        log.info("Traduzindo {} notícias em {} lotes", pending.size(), batches.size());
+
+        return Flux.fromIterable(batches)
+                .flatMap(batch -> translateBatch(batch, inputs), Math.max(1, batchConcurrency));
+    }
+
+    private Flux<IndexedNews> translateBatch(List<Integer> batch, List<NewsInput> inputs) {
+        if (batch.size() == 1) {
+            return translateIndividually(batch, inputs);
+        }
+
+        List<NewsInput> batchInputs = batch.stream().map(inputs::get).toList();
+        String prompt = buildBatchTranslationPrompt(batchInputs);
+
+        return llmGateway.call(LlmTask.TRANSLATION, false, null, prompt)
+                .map(response -> responseParser.parseBatchResponse(response, batchInputs.size(),
+                        maxTitleLength, maxDescriptionLength))
+                .onErrorResume(error -> {
+                    log.warn("Falha na tradução em lote de {} notícias: {} - reprocessando individualmente",
+                            batchInputs.size(), error.getMessage());
+                    return Mono.just(Map.of());
                 })
+                .publishOn(Schedulers.boundedElastic())
+                .flatMapMany(parsed -> {
+                    List<IndexedNews> translated = new ArrayList<>();
+                    List<Integer> failed = new ArrayList<>();
+                    for (int local = 0; local < batch.size(); local++) {
+                        ProcessedNews result = parsed.get(local);
+                        if (result != null && isConsistentTranslation(result)) {
+                            log.info("Tradução concluída: '{}'", result.getTitle());
+                            translated.add(new IndexedNews(batch.get(local), result));
+                        } else {
+                            failed.add(batch.get(local));
+                        }
+                    }
+
+                    if (!failed.isEmpty()) {
+                        log.info("Tradução em lote: {} de {} notícias serão reprocessadas individualmente",
+                                failed.size(), batch.size());
+                    }
+                    return Flux.fromIterable(translated)
+                            .concatMap(item -> translationCache.save(inputs.get(item.getIndex()).getTitle(),
+                                            inputs.get(item.getIndex()).getDescription(), promptVersion(), item.getNews())
+                                    .thenReturn(item))
+                            .concatWith(translateIndividually(failed, inputs));
+                });
+    }
+
+    private Flux<IndexedNews> translateIndividually(List<Integer> indices, List<NewsInput> inputs) {
+        return Flux.fromIterable(indices)
+                .flatMap(index -> processSingleNews(inputs.get(index).getTitle(), inputs.get(index).getDescription())
+                                .map(result -> new IndexedNews(index, result)),
+                        SINGLE_RETRY_CONCURRENCY);
+    }
+
+    private Mono<Boolean> checkConsistency(ProcessedNews result) {
+        return Mono.fromCallable(() -> isConsistentTranslation(result))
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    private boolean isConsistentTranslation(ProcessedNews result) {
+        return languageDetectionService.isPortuguese(result.getTitle()) &&
+                languageDetectionService.isPortuguese(result.getDescription());
+    }
+
+    private int inputPromptTokens(NewsInput input) {
+        return Math.min(TRANSLATION_TITLE_MAX_TOKENS, promptBudget.estimateTokens(input.getTitle()))
+                + Math.min(descriptionMaxTokens, promptBudget.estimateTokens(input.getDescription()))
+                + SECTION_OVERHEAD_TOKENS;
+    }
+
+    private int completionTokensPerItem() {
+        return promptBudget.estimateTokens("x".repeat(maxTitleLength + maxDescriptionLength)) + SECTION_OVERHEAD_TOKENS;
+    }
+
     private Mono<ProcessedNews> translateWithAI(String title, String description) {
         String prompt = buildTranslationPrompt(title, description);
 
-        return Mono.fromCallable(() -> {
-                    String response = chatClient.prompt()
-                            .user(prompt)
-                            .call()
-                            .content();
-                    log.debug("Resposta da IA recebida para tradução da notícia: '{}'", title);
-                    return responseParser.parseResponse(response, title, description, maxTitleLength, maxDescriptionLength);
-                })
-                .subscribeOn(Schedulers.boundedElastic())
+        return requestTranslation(prompt, title, description, false)
+                .flatMap(result -> Mono.zip(checkConsistency(result), llmGateway.canEscalate(LlmTask.TRANSLATION))
+                        .flatMap(checks -> {
+                            if (checks.getT1() || !checks.getT2()) {
+                                return Mono.just(result);
+                            }
+                            log.info("Tradução inconsistente para '{}', repetindo com o modelo de escalonamento", title);
+                            return requestTranslation(prompt, title, description, true)
+                                    .filterWhen(this::checkConsistency)
+                                    .defaultIfEmpty(result)
+                                    .onErrorReturn(result);
+                        }))
                 .onErrorResume(ex -> {
                     log.warn("Erro ao traduzir notícia '{}': {} - ignorando notícia",
                             title, ex.getMessage());
@@ -80,48 +288,56 @@ public class NewsTranslationService {
                 });
     }
 
-    private String buildTranslationPrompt(String title, String description) {
-        return String.format("""
-            Você é um tradutor profissional especializado em notícias de tecnologia e jogos.
-            Traduza o conteúdo abaixo para PORTUGUÊS BRASILEIRO, mantendo clareza e substantivos próprios.
-
-            Regras:
-            - Sempre responda 100%% em português brasileiro
-            - Não traduza substantivos próprios (empresas, produtos)
-            - Resuma de maneira fluida e técnica
-            - Título máximo de %d caracteres, Resumo máximo de %d caracteres
-            - Se já estiver em português, apenas melhore a escrita
+    private Mono<ProcessedNews> requestTranslation(String prompt, String title, String description, boolean escalate) {
+        return llmGateway.call(LlmTask.TRANSLATION, escalate, null, prompt)
+                .map(response -> {
+                    log.debug("Resposta da IA recebida para tradução da notícia: '{}'", title);
+                    return responseParser.parseResponse(response, title, description, maxTitleLength, maxDescriptionLength);
+                });
+    }
 
-            TÍTULO ORIGINAL: %s
-            DESCRIÇÃO ORIGINAL: %s
+    private String buildTranslationPrompt(String title, String description) {
+        String promptTitle = promptBudget.truncateToTokens(title, TRANSLATION_TITLE_MAX_TOKENS);
+        String promptDescription = description != null && !description.isBlank()
+                ? promptBudget.truncateToTokens(description, descriptionMaxTokens)
+                : promptTitle;
 
-            Responda exatamente neste formato:
-            TÍTULO: [tradução]
-            RESUMO: [resumo em português]
-            """,
+        return String.format(TRANSLATION_PROMPT_TEMPLATE,
                 maxTitleLength,
                 maxDescriptionLength,
-                title,
-                description != null ? description : title
+                promptTitle,
+                promptDescription
         );
     }
 
-    private boolean isRetryableError(Throwable error) {
-        if (error instanceof InterruptedException) return true;
-        if (error instanceof java.net.SocketTimeoutException) return true;
-        if (error instanceof java.io.IOException) return true;
-        if (error instanceof org.springframework.web.client.ResourceAccessException) return true;
+    private String buildBatchTranslationPrompt(List<NewsInput> inputs) {
+        StringBuilder news = new StringBuilder();
+        StringBuilder format = new StringBuilder();
+        for (int i = 0; i < inputs.size(); i++) {
+            NewsInput input = inputs.get(i);
+            String promptTitle = promptBudget.truncateToTokens(input.getTitle(), TRANSLATION_TITLE_MAX_TOKENS);
+            String promptDescription = input.getDescription() != null && !input.getDescription().isBlank()
+                    ? promptBudget.truncateToTokens(input.getDescription(), descriptionMaxTokens)
+                    : promptTitle;
+            news.append(String.format("[%d]%nTÍTULO ORIGINAL: %s%nDESCRIÇÃO ORIGINAL: %s%n%n",
+                    i + 1, promptTitle, promptDescription));
+            format.append(String.format("[%d]%nTÍTULO: [tradução]%nRESUMO: [resumo em português]%n", i + 1));
+        }
 
-        String msg = error.getMessage();
-        return msg != null && (
-                msg.contains("timeout") ||
-                msg.contains("I/O error") ||
-                msg.contains("Connection reset") ||
-                msg.contains("ReadTimeout") ||
-                msg.contains("ConnectException")
+        return String.format(BATCH_TRANSLATION_PROMPT_TEMPLATE,
+                maxTitleLength,
+                maxDescriptionLength,
+                inputs.size(),
+                news,
+                format
         );
     }
 
+    private String promptVersion() {
+        return TRANSLATION_PROMPT_TEMPLATE + BATCH_TRANSLATION_PROMPT_TEMPLATE
+                + maxTitleLength + ":" + maxDescriptionLength + ":" + descriptionMaxTokens;
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class ProcessedNews {
@@ -129,6 +345,13 @@ public class NewsTranslationService {
         private String description;
     }
 
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class IndexedNews {
+        private int index;
+        private ProcessedNews news;
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class NewsInput {
@@ -0,0 +1,109 @@
+package com.newsbot.service.translation;
+
+import com.newsbot.model.TranslationCacheEntry;
+import com.newsbot.repository.TranslationCacheRepository;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import com.newsbot.service.translation.NewsTranslationService.ProcessedNews;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class TranslationCacheService {
+
+    static final String TARGET_LANGUAGE = "pt-BR";
+
+    private final TranslationCacheRepository cacheRepository;
+    private final ContentDuplicateDetector contentDuplicateDetector;
+    private final LlmGateway llmGateway;
+    private final LruCache<String, ProcessedNews> memoryCache;
+    private final Map<String, String> promptVersions = new ConcurrentHashMap<>();
+
+    @Value("${app.translation.cache.enabled:true}")
+    private boolean enabled;
+
+    public TranslationCacheService(TranslationCacheRepository cacheRepository,
+                                   ContentDuplicateDetector contentDuplicateDetector,
+                                   LlmGateway llmGateway,
+                                   @Value("${app.translation.cache.max-entries:500}") int maxEntries) {
+        this.cacheRepository = cacheRepository;
+        this.contentDuplicateDetector = contentDuplicateDetector;
+        this.llmGateway = llmGateway;
+        this.memoryCache = new LruCache<>(maxEntries);
+    }
+
+    public Mono<ProcessedNews> find(String title, String description, String promptTemplate) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        String contentHash = contentHash(title, description);
+        String promptVersion = promptVersion(promptTemplate);
+
+        return llmGateway.model(LlmTask.TRANSLATION)
+                .flatMap(model -> {
+                    String key = memoryKey(contentHash, model, promptVersion);
+
+                    ProcessedNews cached = memoryCache.get(key);
+                    if (cached != null) {
+                        log.debug("Cache de traduções (memória): '{}'", cached.getTitle());
+                        return Mono.just(cached);
+                    }
+
+                    return cacheRepository.findEntry(contentHash, TARGET_LANGUAGE, model, promptVersion)
+                            .map(entry -> ProcessedNews.builder()
+                                    .title(entry.getTitle())
+                                    .description(entry.getDescription())
+                                    .build())
+                            .doOnNext(translation -> {
+                                memoryCache.put(key, translation);
+                                log.debug("Cache de traduções (banco): '{}'", translation.getTitle());
+                            });
+                })
+                .onErrorResume(error -> {
+                    log.warn("Erro ao consultar cache de traduções: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> save(String title, String description, String promptTemplate, ProcessedNews translation) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        String contentHash = contentHash(title, description);
+        String promptVersion = promptVersion(promptTemplate);
+
+        return llmGateway.model(LlmTask.TRANSLATION)
+                .flatMap(model -> {
+                    memoryCache.put(memoryKey(contentHash, model, promptVersion), translation);
+                    return cacheRepository.upsertEntry(contentHash, TARGET_LANGUAGE, model, promptVersion,
+                            translation.getTitle(), translation.getDescription(), LocalDateTime.now());
+                })
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Erro ao armazenar tradução no cache: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private String contentHash(String title, String description) {
+        return contentDuplicateDetector.generateContentHash(title + " " + (description != null ? description : ""));
+    }
+
+    private String promptVersion(String promptTemplate) {
+        return promptVersions.computeIfAbsent(promptTemplate, ContentDuplicateDetector::sha256);
+    }
+
+    private String memoryKey(String contentHash, String model, String promptVersion) {
+        return contentHash + ":" + TARGET_LANGUAGE + ":" + model + ":" + promptVersion;
+    }
+}
@@ -0,0 +1,45 @@
+CREATE TABLE IF NOT EXISTS news_scores (
+    id           BIGSERIAL PRIMARY KEY,
+    content_hash VARCHAR(64)  NOT NULL,
+    prompt_hash  VARCHAR(64)  NOT NULL,
+    model        VARCHAR(100) NOT NULL,
+    score        INTEGER      NOT NULL,
+    scored_at    TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_news_scores_key UNIQUE (content_hash, prompt_hash, model)
+);
+
+CREATE INDEX IF NOT EXISTS idx_news_scores_scored_at ON news_scores (scored_at);
+
+CREATE TABLE IF NOT EXISTS translation_cache (
+    id              BIGSERIAL PRIMARY KEY,
+    content_hash    VARCHAR(64)  NOT NULL,
+    target_language VARCHAR(16)  NOT NULL,
+    model           VARCHAR(100) NOT NULL,
+    prompt_version  VARCHAR(64)  NOT NULL,
+    title           TEXT         NOT NULL,
+    description     TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_translation_cache_key UNIQUE (content_hash, target_language, model, prompt_version)
+);
+
+CREATE TABLE IF NOT EXISTS discord_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    article_id      BIGINT      NOT NULL,
+    webhook_url     TEXT        NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    payload         TEXT        NOT NULL,
+    attempts        INTEGER     NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    created_at      TIMESTAMP   NOT NULL,
+    sent_at         TIMESTAMP,
+    not_before      TIMESTAMP,
+    claimed_at      TIMESTAMP,
+    claimed_by      VARCHAR(64),
+    CONSTRAINT uk_discord_outbox_key UNIQUE (idempotency_key)
+);
+
+ALTER TABLE discord_outbox ADD COLUMN IF NOT EXISTS not_before TIMESTAMP;
+ALTER TABLE discord_outbox ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+ALTER TABLE discord_outbox ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_discord_outbox_pending ON discord_outbox (id) WHERE sent_at IS NULL;
@@ -1,28 +1,39 @@
 package com.newsbot.scheduler;
 
 import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmBudgetScope;
+import com.newsbot.service.ai.LlmUsageTracker;
 import com.newsbot.service.persistence.NewsArticlePersistenceService;
 import com.newsbot.service.news.NewsEditorService;
+import com.newsbot.service.news.NewsFusedEditorService;
+import com.newsbot.service.translation.NewsTranslationService;
 import com.newsbot.service.news.RssNewsService;
+import com.newsbot.service.discord.DiscordOutboxWorker;
 import com.newsbot.service.discord.NewsDiscordBatchProcessor;
 import com.newsbot.service.filter.NewsFilterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -44,12 +55,22 @@ class DailyNewsSchedulerTest {
     @Mock
     private NewsDiscordBatchProcessor discordBatchProcessor;
 
+    @Mock
+    private NewsFusedEditorService newsFusedEditorService;
+
+    @Mock
+    private LlmUsageTracker usageTracker;
+
+    @Mock
+    private DiscordOutboxWorker outboxWorker;
+
     @InjectMocks
     private DailyNewsScheduler dailyNewsScheduler;
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(dailyNewsScheduler, "webhookUrl", "https://discord.webhook.url");
+        lenient().when(outboxWorker.drain()).thenReturn(Mono.just(0));
     }
 
     @Test
@@ -62,8 +83,7 @@ class DailyNewsSchedulerTest {
         when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
         when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
         when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(articles));
-        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyString())).thenReturn(Mono.just(articles));
-        when(newsArticlePersistenceService.markArticlesAsSent(anyList())).thenReturn(Mono.empty());
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenReturn(Mono.just(articles));
 
         Mono<Integer> result = dailyNewsScheduler.executeManually();
 
@@ -75,8 +95,29 @@ class DailyNewsSchedulerTest {
         verify(newsFilterService, times(2)).filterDuplicates(any(NewsArticle.class));
         verify(newsArticlePersistenceService, times(2)).saveArticle(any(NewsArticle.class));
         verify(newsEditorService, times(1)).selectTopNews(anyList());
-        verify(discordBatchProcessor, times(1)).processAndSendToDiscord(anyList(), anyString());
-        verify(newsArticlePersistenceService, times(1)).markArticlesAsSent(anyList());
+        verify(discordBatchProcessor, times(1)).processAndSendToDiscord(anyList(), anyList());
+        verify(newsArticlePersistenceService, never()).markArticlesAsSent(anyList());
+    }
+
+    @Test
+    void executeManually_shouldFanOutToAllConfiguredWebhooks() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "webhookUrls",
+                List.of("https://discord.webhook.url", " https://discord.webhook.url/second ", ""));
+        NewsArticle article1 = createTestArticle(1L);
+        List<NewsArticle> articles = List.of(article1);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article1));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(articles));
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenReturn(Mono.just(articles));
+
+        StepVerifier.create(dailyNewsScheduler.executeManually())
+                .expectNext(1)
+                .verifyComplete();
+
+        verify(discordBatchProcessor, times(1)).processAndSendToDiscord(eq(articles),
+                eq(List.of("https://discord.webhook.url", "https://discord.webhook.url/second")));
     }
 
     @Test
@@ -91,7 +132,7 @@ class DailyNewsSchedulerTest {
 
         verify(rssNewsService, times(1)).fetchAllNews();
         verify(newsEditorService, never()).selectTopNews(anyList());
-        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyString());
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
         verify(newsArticlePersistenceService, never()).markArticlesAsSent(anyList());
     }
 
@@ -115,10 +156,34 @@ class DailyNewsSchedulerTest {
         verify(newsFilterService, times(2)).filterDuplicates(any(NewsArticle.class));
         verify(newsArticlePersistenceService, times(2)).saveArticle(any(NewsArticle.class));
         verify(newsEditorService, times(1)).selectTopNews(anyList());
-        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyString());
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
         verify(newsArticlePersistenceService, never()).markArticlesAsSent(anyList());
     }
 
+    @Test
+    void executeManually_shouldResumePendingDeliveriesBeforeFetchingNews() {
+        when(outboxWorker.drain()).thenReturn(Mono.just(2));
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.empty());
+
+        StepVerifier.create(dailyNewsScheduler.executeManually())
+                .expectNext(0)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(outboxWorker, rssNewsService);
+        inOrder.verify(outboxWorker).drain();
+        inOrder.verify(rssNewsService).fetchAllNews();
+    }
+
+    @Test
+    void executeManually_shouldContinueWhenPendingDeliveriesFail() {
+        when(outboxWorker.drain()).thenReturn(Mono.error(new RuntimeException("Outbox error")));
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.empty());
+
+        StepVerifier.create(dailyNewsScheduler.executeManually())
+                .expectNext(0)
+                .verifyComplete();
+    }
+
     @Test
     void executeManually_shouldHandleErrorInRssService() {
         when(rssNewsService.fetchAllNews()).thenReturn(Flux.error(new RuntimeException("Test error")));
@@ -131,7 +196,7 @@ class DailyNewsSchedulerTest {
     }
 
     @Test
-    void executeManually_shouldOnlyMarkSuccessfullySentArticlesAsSent() {
+    void executeManually_shouldLeaveSentFlagToOutboxAcknowledgement() {
         NewsArticle article1 = createTestArticle(1L);
         NewsArticle article2 = createTestArticle(2L);
         NewsArticle article3 = createTestArticle(3L);
@@ -142,8 +207,7 @@ class DailyNewsSchedulerTest {
         when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
         when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
         when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(allArticles));
-        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyString())).thenReturn(Mono.just(successfulArticles));
-        when(newsArticlePersistenceService.markArticlesAsSent(anyList())).thenReturn(Mono.empty());
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenReturn(Mono.just(successfulArticles));
 
         Mono<Integer> result = dailyNewsScheduler.executeManually();
 
@@ -151,7 +215,231 @@ class DailyNewsSchedulerTest {
                 .expectNext(3)
                 .verifyComplete();
 
-        verify(newsArticlePersistenceService).markArticlesAsSent(successfulArticles);
+        verify(newsArticlePersistenceService, never()).markArticlesAsSent(anyList());
+    }
+
+    @Test
+    void executeManually_shouldUseFusedPipelineWhenConfigured() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "pipelineMode", "fused");
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        List<NewsFusedEditorService.SelectedNews> selected = List.of(new NewsFusedEditorService.SelectedNews(article1,
+                NewsTranslationService.ProcessedNews.builder().title("Título").description("Resumo").build()));
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article1, article2));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsFusedEditorService.selectAndTranslate(anyList())).thenReturn(Mono.just(selected));
+        when(discordBatchProcessor.sendTranslatedToDiscord(anyList(), anyList())).thenReturn(Mono.just(List.of(article1)));
+
+        Mono<Integer> result = dailyNewsScheduler.executeManually();
+
+        StepVerifier.create(result)
+                .expectNext(1)
+                .verifyComplete();
+
+        verify(newsEditorService, never()).selectTopNews(anyList());
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
+        verify(newsArticlePersistenceService, never()).markArticlesAsSent(anyList());
+    }
+
+    @Test
+    void checkBreakingNews_shouldDeliverUrgentArticlesUpToHourlyCap() {
+        configureBreakingNews(1);
+        NewsArticle urgent = createTestArticle(1L);
+        NewsArticle alsoUrgent = createTestArticle(2L);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(urgent, alsoUrgent));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectBreakingNews(anyList(), eq(6), eq(9))).thenReturn(Mono.just(List.of(urgent, alsoUrgent)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        StepVerifier.create(dailyNewsScheduler.checkBreakingNews())
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(dailyNewsScheduler.checkBreakingNews())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(discordBatchProcessor, times(1)).processAndSendToDiscord(eq(List.of(urgent)),
+                eq(List.of("https://discord.webhook.url")));
+        verify(rssNewsService, times(1)).fetchAllNews();
+    }
+
+    @Test
+    void checkBreakingNews_shouldNotReevaluateCandidatesAlreadySeen() {
+        configureBreakingNews(2);
+        NewsArticle article = createTestArticle(1L);
+        NewsArticle stale = createTestArticle(2L);
+        stale.setPublishedDate(LocalDateTime.now().minusDays(1));
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article, stale));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectBreakingNews(anyList(), anyInt(), anyInt())).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(dailyNewsScheduler.checkBreakingNews())
+                .expectNext(0)
+                .verifyComplete();
+        StepVerifier.create(dailyNewsScheduler.checkBreakingNews())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(newsEditorService, times(1)).selectBreakingNews(eq(List.of(article)), anyInt(), anyInt());
+        verify(newsFilterService, times(1)).filterDuplicates(any(NewsArticle.class));
+        verifyNoInteractions(discordBatchProcessor);
+    }
+
+    @Test
+    void checkBreakingNews_shouldScoreInItsOwnBudgetWindow() {
+        configureBreakingNews(2);
+        NewsArticle article = createTestArticle(1L);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectBreakingNews(anyList(), anyInt(), anyInt()))
+                .thenReturn(Mono.deferContextual(context -> Mono.just(
+                        context.getOrDefault(LlmBudgetScope.class, LlmBudgetScope.DAILY) == LlmBudgetScope.BREAKING
+                                ? List.<NewsArticle>of() : List.of(article))));
+
+        StepVerifier.create(dailyNewsScheduler.checkBreakingNews())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(usageTracker).startRun(LlmBudgetScope.BREAKING);
+        verify(usageTracker).finishRun(LlmBudgetScope.BREAKING);
+        verify(usageTracker, never()).startRun();
+        verifyNoInteractions(discordBatchProcessor);
+    }
+
+    @Test
+    void prepareNews_shouldStageSelectedArticlesInsteadOfSending() {
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        List<NewsArticle> articles = List.of(article1, article2);
+        ZonedDateTime deliverAt = ZonedDateTime.now().plusMinutes(30);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article1, article2));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(articles));
+        when(discordBatchProcessor.stageForDelivery(anyList(), anyList(), any(LocalDateTime.class))).thenReturn(Mono.just(2));
+
+        StepVerifier.create(dailyNewsScheduler.prepareNews(deliverAt))
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(discordBatchProcessor).stageForDelivery(eq(articles), eq(List.of("https://discord.webhook.url")),
+                eq(deliverAt.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()));
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
+        verify(outboxWorker, times(1)).drain();
+    }
+
+    @Test
+    void executeDaily_shouldRunFullPipelineWhenPrecomputeStagedNothing() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeEnabled", true);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeLeadTime", Duration.ofMinutes(30));
+        NewsArticle article = createTestArticle(1L);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(List.of(article)));
+        when(discordBatchProcessor.stageForDelivery(anyList(), anyList(), any(LocalDateTime.class))).thenReturn(Mono.just(0));
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenReturn(Mono.just(List.of(article)));
+
+        StepVerifier.create(dailyNewsScheduler.prepareNews(ZonedDateTime.now().plusMinutes(10)))
+                .expectNext(0)
+                .verifyComplete();
+        dailyNewsScheduler.executeDaily();
+
+        verify(discordBatchProcessor, timeout(1000)).processAndSendToDiscord(eq(List.of(article)), anyList());
+        verify(rssNewsService, times(2)).fetchAllNews();
+    }
+
+    @Test
+    void executeDaily_shouldDeliverPreparedEmbedsOnlyAfterPrecomputeStagedThem() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeEnabled", true);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeLeadTime", Duration.ofMinutes(30));
+        NewsArticle article = createTestArticle(1L);
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article), Flux.empty());
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(List.of(article)));
+        when(discordBatchProcessor.stageForDelivery(anyList(), anyList(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        StepVerifier.create(dailyNewsScheduler.prepareNews(ZonedDateTime.now().plusMinutes(10)))
+                .expectNext(1)
+                .verifyComplete();
+        dailyNewsScheduler.executeDaily();
+
+        verify(outboxWorker, timeout(1000).times(2)).drain();
+        verify(newsEditorService, times(1)).selectTopNews(anyList());
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
+    }
+
+    @Test
+    void executeDaily_shouldWaitForRunningPrecomputeInsteadOfStartingASecondRun() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeEnabled", true);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeLeadTime", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(dailyNewsScheduler, "dailyCron", "0 * * * * *");
+        ReflectionTestUtils.setField(dailyNewsScheduler, "dailyZone", "UTC");
+        NewsArticle article = createTestArticle(1L);
+        Sinks.One<Integer> staging = Sinks.one();
+
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(article), Flux.empty());
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(List.of(article)));
+        when(discordBatchProcessor.stageForDelivery(anyList(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(staging.asMono());
+
+        dailyNewsScheduler.precomputeIfDue();
+        dailyNewsScheduler.executeDaily();
+
+        verify(usageTracker, times(1)).startRun();
+        verify(rssNewsService, times(1)).fetchAllNews();
+
+        staging.tryEmitValue(1);
+
+        verify(outboxWorker, timeout(1000).atLeast(2)).drain();
+        verify(usageTracker, times(1)).startRun();
+        verify(newsEditorService, times(1)).selectTopNews(anyList());
+        verify(discordBatchProcessor, never()).processAndSendToDiscord(anyList(), anyList());
+    }
+
+    @Test
+    void deliverPrepared_shouldPostStagedEmbedsThenOnlyRelevantLateArticles() {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputePreFilterScore", 6);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "precomputeDeltaThreshold", 8);
+        NewsArticle prepared = createTestArticle(1L);
+        NewsArticle late = createTestArticle(2L);
+
+        when(outboxWorker.drain()).thenReturn(Mono.just(0), Mono.just(3));
+        when(rssNewsService.fetchAllNews()).thenReturn(Flux.just(prepared), Flux.just(prepared, late));
+        when(newsFilterService.filterDuplicates(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsArticlePersistenceService.saveArticle(any(NewsArticle.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(newsEditorService.selectTopNews(anyList())).thenReturn(Mono.just(List.of(prepared)));
+        when(discordBatchProcessor.stageForDelivery(anyList(), anyList(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+        when(newsEditorService.selectBreakingNews(List.of(late), 6, 8)).thenReturn(Mono.just(List.of(late)));
+        when(discordBatchProcessor.processAndSendToDiscord(anyList(), anyList())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        StepVerifier.create(dailyNewsScheduler.prepareNews(ZonedDateTime.now().plusMinutes(30)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(dailyNewsScheduler.deliverPrepared())
+                .expectNext(4)
+                .verifyComplete();
+
+        verify(discordBatchProcessor).processAndSendToDiscord(eq(List.of(late)), anyList());
+    }
+
+    private void configureBreakingNews(int maxPerHour) {
+        ReflectionTestUtils.setField(dailyNewsScheduler, "breakingPreFilterScore", 6);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "breakingThreshold", 9);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "breakingMaxPerHour", maxPerHour);
+        ReflectionTestUtils.setField(dailyNewsScheduler, "breakingMaxAge", Duration.ofHours(3));
     }
 
     private NewsArticle createTestArticle(Long id) {
@@ -0,0 +1,83 @@
+package com.newsbot.service.ai;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void acquire_shouldQueueCallersAboveLimitAndGrantOnRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 4, 2.0);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(LlmPriority.LOW).block();
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> second = new AtomicReference<>();
+
+        Disposable waiting = limiter.acquire(LlmPriority.LOW).subscribe(second::set);
+        assertNull(second.get());
+
+        assertNotNull(first);
+        first.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+
+        assertNotNull(second.get());
+        assertEquals(1, limiter.inFlight());
+        waiting.dispose();
+    }
+
+    @Test
+    void release_shouldGrowAdditivelyAndHalveOnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 16, 100.0);
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(limiter.acquire(LlmPriority.LOW))
+                    .assertNext(permit -> permit.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS))
+                    .verifyComplete();
+        }
+        int grown = limiter.currentLimit();
+        assertTrue(grown > 2);
+
+        StepVerifier.create(limiter.acquire(LlmPriority.LOW))
+                .assertNext(permit -> permit.release(AdaptiveConcurrencyLimiter.Outcome.OVERLOADED))
+                .verifyComplete();
+
+        assertTrue(limiter.currentLimit() <= Math.max(1, grown / 2 + 1));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void release_shouldIgnoreDuplicateReleases() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 16, 2.0);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(LlmPriority.LOW).block();
+
+        assertNotNull(permit);
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void release_shouldGrantHighPriorityWaitersFirst() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(LlmPriority.LOW).block();
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> low = new AtomicReference<>();
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> high = new AtomicReference<>();
+
+        Disposable lowWaiter = limiter.acquire(LlmPriority.LOW).subscribe(low::set);
+        Disposable highWaiter = limiter.acquire(LlmPriority.HIGH).subscribe(high::set);
+
+        assertNotNull(first);
+        first.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+
+        assertNotNull(high.get());
+        assertNull(low.get());
+        lowWaiter.dispose();
+        highWaiter.dispose();
+    }
+}
@@ -0,0 +1,117 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiBudgetConfig;
+import com.newsbot.config.AiRoutingConfig;
+import com.newsbot.service.prompt.PromptBudgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LlmGatewayTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient chatClient;
+
+    private LlmGateway llmGateway;
+
+    @BeforeEach
+    void setUp() {
+        PromptBudgetService promptBudget = new PromptBudgetService();
+        ReflectionTestUtils.setField(promptBudget, "maxRequestTokens", 6000);
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 128000);
+        llmGateway = gateway(new AiRoutingConfig(), new LlmUsageTracker(new AiBudgetConfig()), promptBudget);
+    }
+
+    @Test
+    void call_shouldJoinStreamedChunks() {
+        when(chatClient.prompt().system(anyString()).user(anyString()).stream().content())
+                .thenReturn(Flux.just("NOTA1: ", "8"));
+
+        StepVerifier.create(llmGateway.call(LlmTask.SCORING, false, "system", "user"))
+                .expectNext("NOTA1: 8")
+                .verifyComplete();
+    }
+
+    @Test
+    void call_shouldReturnHedgedResponseWhenPrimaryStalls() {
+        ReflectionTestUtils.setField(llmGateway, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(llmGateway, "hedgingPercentile", 0.95);
+        ReflectionTestUtils.setField(llmGateway, "hedgingMaxRatio", 1.0);
+        ReflectionTestUtils.setField(llmGateway, "hedgingMinSamples", 0);
+        ReflectionTestUtils.setField(llmGateway, "hedgingMinDelay", Duration.ofMillis(100));
+        when(chatClient.prompt().user(anyString()).stream().content())
+                .thenReturn(Flux.never(), Flux.just("TÍTULO: ", "Rápido"));
+
+        StepVerifier.create(llmGateway.call(LlmTask.TRANSLATION, false, null, "user"))
+                .expectNext("TÍTULO: Rápido")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void model_shouldReturnRoutedModelOrDefault() {
+        AiRoutingConfig routingConfig = new AiRoutingConfig();
+        routingConfig.setEnabled(true);
+        AiRoutingConfig.ModelProfile strong = new AiRoutingConfig.ModelProfile();
+        strong.setModel("gpt-4o");
+        routingConfig.getProfiles().put("strong", strong);
+        AiRoutingConfig.TaskRoute scoring = new AiRoutingConfig.TaskRoute();
+        scoring.setPrimary("strong");
+        routingConfig.getTasks().put("scoring", scoring);
+        LlmGateway routedGateway = gateway(routingConfig, new LlmUsageTracker(new AiBudgetConfig()), new PromptBudgetService());
+        ReflectionTestUtils.setField(routedGateway, "defaultModel", "gpt-4o-mini");
+
+        StepVerifier.create(routedGateway.model(LlmTask.SCORING))
+                .expectNext("gpt-4o")
+                .verifyComplete();
+        StepVerifier.create(routedGateway.model(LlmTask.TRANSLATION))
+                .expectNext("gpt-4o-mini")
+                .verifyComplete();
+    }
+
+    @Test
+    void canEscalate_shouldUseBudgetScopeFromContext() {
+        AiRoutingConfig routingConfig = new AiRoutingConfig();
+        routingConfig.setEnabled(true);
+        routingConfig.getProfiles().put("fast", new AiRoutingConfig.ModelProfile());
+        routingConfig.getProfiles().put("strong", new AiRoutingConfig.ModelProfile());
+        AiRoutingConfig.TaskRoute scoring = new AiRoutingConfig.TaskRoute();
+        scoring.setPrimary("fast");
+        scoring.setEscalation("strong");
+        routingConfig.getTasks().put("scoring", scoring);
+        AiBudgetConfig budgetConfig = new AiBudgetConfig();
+        budgetConfig.setEnabled(true);
+        budgetConfig.setBreakingRunTokens(100);
+        LlmUsageTracker usageTracker = new LlmUsageTracker(budgetConfig);
+        usageTracker.record(LlmTask.SCORING, LlmBudgetScope.BREAKING, "gpt-4o-mini", 90, 0, false);
+        LlmGateway routedGateway = gateway(routingConfig, usageTracker, new PromptBudgetService());
+
+        StepVerifier.create(routedGateway.canEscalate(LlmTask.SCORING))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(routedGateway.canEscalate(LlmTask.SCORING)
+                        .contextWrite(Context.of(LlmBudgetScope.class, LlmBudgetScope.BREAKING)))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    private LlmGateway gateway(AiRoutingConfig routingConfig, LlmUsageTracker usageTracker, PromptBudgetService promptBudget) {
+        return new LlmGateway(chatClient, new LlmModelRouter(routingConfig), usageTracker,
+                new AdaptiveConcurrencyLimiter(4, 1, 16, 2.0), new LlmRateLimiter(false, 500, 200000),
+                promptBudget, Duration.ofSeconds(30), 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiRoutingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmModelRouterTest {
+
+    private AiRoutingConfig routingConfig;
+    private LlmModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        routingConfig = new AiRoutingConfig();
+        routingConfig.setEnabled(true);
+        routingConfig.getProfiles().put("fast", profile("gpt-4o-mini"));
+        routingConfig.getProfiles().put("strong", profile("gpt-4o"));
+
+        AiRoutingConfig.TaskRoute scoring = new AiRoutingConfig.TaskRoute();
+        scoring.setPrimary("fast");
+        scoring.setEscalation("strong");
+        scoring.setFailover("strong");
+        scoring.setDegradedLatency(Duration.ofSeconds(1));
+        routingConfig.getTasks().put("scoring", scoring);
+
+        router = new LlmModelRouter(routingConfig);
+    }
+
+    @Test
+    void select_shouldReturnNullWhenRoutingDisabled() {
+        routingConfig.setEnabled(false);
+
+        assertNull(router.select(LlmTask.SCORING, false, false));
+        assertFalse(router.canEscalate(LlmTask.SCORING));
+    }
+
+    @Test
+    void select_shouldUsePrimaryOrEscalationProfile() {
+        assertEquals("gpt-4o-mini", router.select(LlmTask.SCORING, false, false).options().getModel());
+        assertEquals("gpt-4o", router.select(LlmTask.SCORING, true, false).options().getModel());
+        assertNull(router.select(LlmTask.TRANSLATION, false, false));
+    }
+
+    @Test
+    void failover_shouldDivertCallsWhilePrimaryIsDegraded() {
+        LlmModelRouter.Route primary = router.select(LlmTask.SCORING, false, false);
+
+        LlmModelRouter.Route failover = router.failover(LlmTask.SCORING, primary);
+
+        assertEquals("strong", failover.name());
+        assertEquals("strong", router.select(LlmTask.SCORING, false, false).name());
+        assertNull(router.failover(LlmTask.SCORING, failover));
+    }
+
+    @Test
+    void recordLatency_shouldMarkPrimaryDegradedWhenMedianIsTooSlow() {
+        LlmModelRouter.Route primary = router.select(LlmTask.SCORING, false, false);
+
+        for (int i = 0; i < 5; i++) {
+            router.recordLatency(LlmTask.SCORING, primary, 5000);
+        }
+
+        assertEquals("strong", router.select(LlmTask.SCORING, false, false).name());
+        assertTrue(router.canEscalate(LlmTask.SCORING));
+    }
+
+    private static AiRoutingConfig.ModelProfile profile(String model) {
+        AiRoutingConfig.ModelProfile profile = new AiRoutingConfig.ModelProfile();
+        profile.setModel(model);
+        profile.setTemperature(0.3);
+        return profile;
+    }
+}
@@ -0,0 +1,67 @@
+package com.newsbot.service.ai;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmRateLimiterTest {
+
+    @Test
+    void acquire_shouldPassThroughWhenDisabled() {
+        LlmRateLimiter rateLimiter = new LlmRateLimiter(false, 1, 1);
+
+        StepVerifier.create(rateLimiter.acquire(1000, LlmPriority.LOW))
+                .verifyComplete();
+    }
+
+    @Test
+    void acquire_shouldDelayCallsBeyondTokenBudget() {
+        LlmRateLimiter rateLimiter = new LlmRateLimiter(true, 600, 6000);
+
+        StepVerifier.create(rateLimiter.acquire(6000, LlmPriority.LOW))
+                .verifyComplete();
+
+        long start = System.nanoTime();
+        StepVerifier.create(rateLimiter.acquire(100, LlmPriority.LOW))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 500);
+    }
+
+    @Test
+    void acquire_shouldServeHighPriorityBeforeQueuedLowPriority() {
+        LlmRateLimiter rateLimiter = new LlmRateLimiter(true, 600, 60000);
+        rateLimiter.penalize(Duration.ofMillis(300));
+
+        List<LlmPriority> order = new ArrayList<>();
+        Disposable low = rateLimiter.acquire(10, LlmPriority.LOW)
+                .doOnSuccess(v -> addOrder(order, LlmPriority.LOW))
+                .subscribe();
+        StepVerifier.create(rateLimiter.acquire(10, LlmPriority.HIGH)
+                        .doOnSuccess(v -> addOrder(order, LlmPriority.HIGH)))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(Mono.delay(Duration.ofMillis(200)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(List.of(LlmPriority.HIGH, LlmPriority.LOW), order);
+        low.dispose();
+    }
+
+    private static void addOrder(List<LlmPriority> order, LlmPriority priority) {
+        synchronized (order) {
+            order.add(priority);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiBudgetConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmUsageTrackerTest {
+
+    private AiBudgetConfig budgetConfig;
+    private LlmUsageTracker usageTracker;
+
+    @BeforeEach
+    void setUp() {
+        budgetConfig = new AiBudgetConfig();
+        budgetConfig.setEnabled(true);
+        budgetConfig.setDailyTokens(10000);
+        budgetConfig.setRunTokens(1000);
+        AiBudgetConfig.ModelPrice price = new AiBudgetConfig.ModelPrice();
+        price.setInputPerMillion(1.0);
+        price.setOutputPerMillion(2.0);
+        budgetConfig.getPrices().put("gpt-4o-mini", price);
+        usageTracker = new LlmUsageTracker(budgetConfig);
+        usageTracker.startRun();
+    }
+
+    @Test
+    void record_shouldExposeTokenAndCostMetricsPerTask() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        usageTracker.bindTo(registry);
+
+        usageTracker.record(LlmTask.SCORING, "gpt-4o-mini-2024-07-18", 300, 100, false);
+
+        assertEquals(300, registry.get("llm.tokens").tag("task", "scoring").tag("type", "prompt").counter().count());
+        assertEquals(0.0005, registry.get("llm.cost").tag("task", "scoring").counter().count(), 1e-9);
+        assertEquals(400, usageTracker.runTokens());
+    }
+
+    @Test
+    void allows_shouldKeepTranslationsRunningAfterRunBudgetIsSpent() {
+        usageTracker.record(LlmTask.SCORING, "gpt-4o-mini", 900, 100, false);
+
+        assertFalse(usageTracker.allows(LlmTask.SCORING));
+        assertTrue(usageTracker.allows(LlmTask.TRANSLATION));
+        assertTrue(usageTracker.isLow());
+    }
+
+    @Test
+    void allows_shouldGiveBreakingChecksTheirOwnRunBudget() {
+        budgetConfig.setBreakingRunTokens(500);
+        usageTracker.record(LlmTask.SCORING, "gpt-4o-mini", 900, 100, false);
+        usageTracker.startRun(LlmBudgetScope.BREAKING);
+
+        assertFalse(usageTracker.allows(LlmTask.SCORING));
+        assertTrue(usageTracker.allows(LlmTask.SCORING, LlmBudgetScope.BREAKING));
+
+        usageTracker.record(LlmTask.SCORING, LlmBudgetScope.BREAKING, "gpt-4o-mini", 500, 0, false);
+
+        assertFalse(usageTracker.allows(LlmTask.SCORING, LlmBudgetScope.BREAKING));
+        assertEquals(1000, usageTracker.runTokens());
+        assertEquals(1500, usageTracker.dailyTokens());
+    }
+
+    @Test
+    void allows_shouldRefuseEveryTaskOnceDailyBudgetIsSpent() {
+        usageTracker.record(LlmTask.TRANSLATION, "gpt-4o-mini", 10000, 0, false);
+        usageTracker.startRun();
+
+        assertFalse(usageTracker.allows(LlmTask.TRANSLATION));
+        assertFalse(usageTracker.allows(LlmTask.SCORING));
+    }
+
+    @Test
+    void isLow_shouldTriggerBelowWatermark() {
+        usageTracker.record(LlmTask.SCORING, "gpt-4o-mini", 700, 0, false);
+        assertFalse(usageTracker.isLow());
+
+        usageTracker.record(LlmTask.SCORING, "gpt-4o-mini", 150, 0, false);
+        assertTrue(usageTracker.isLow());
+    }
+}
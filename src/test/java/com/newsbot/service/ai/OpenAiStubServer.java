@@ -0,0 +1,427 @@
+package com.newsbot.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class OpenAiStubServer implements AutoCloseable {
+
+    private static final Pattern SCORING_LINE = Pattern.compile("(?m)^(\\d+)\\. \\[[^]]*] (.+)$");
+    private static final Pattern FUSED_LINE = Pattern.compile("(?m)^id (\\d+) \\[[^]]*]\\s*\\R\\s*TÍTULO: (.+)$");
+    private static final Pattern BATCH_TRANSLATION_LINE = Pattern.compile("(?m)^\\[(\\d+)]\\s*\\R\\s*TÍTULO ORIGINAL: (.+)$");
+    private static final Pattern SINGLE_TRANSLATION_LINE = Pattern.compile("(?m)^TÍTULO ORIGINAL: (.+)$");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final DisposableServer server;
+
+    private final Queue<Fault> scriptedFaults = new ConcurrentLinkedQueue<>();
+    private final List<StubRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile Function<StubRequest, String> responder = this::defaultResponse;
+    private volatile ToIntFunction<String> scorer = title -> Math.floorMod(title.hashCode(), 10) + 1;
+    private volatile ToIntFunction<String> tokenizer = text -> (int) Math.ceil(text.length() / 4.0);
+    private volatile Latency latency = Latency.fixed(Duration.ZERO);
+    private volatile Duration chunkDelay = Duration.ZERO;
+    private volatile int chunkSize = 8;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+
+    private OpenAiStubServer(long seed, int port) {
+        this.random = new Random(seed);
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(port)
+                .route(routes -> routes.post("/v1/chat/completions", this::handle))
+                .bindNow();
+    }
+
+    public static OpenAiStubServer start() {
+        return start(42L);
+    }
+
+    public static OpenAiStubServer start(long seed) {
+        return new OpenAiStubServer(seed, 0);
+    }
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long medianMs = args.length > 1 ? Long.parseLong(args[1]) : 800;
+        double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.0;
+
+        OpenAiStubServer stub = new OpenAiStubServer(42L, port)
+                .latency(Latency.logNormal(Duration.ofMillis(medianMs), 0.5))
+                .chunks(8, Duration.ofMillis(20))
+                .errorRate(errorRate, 503);
+        System.out.println("Stub OpenAI em " + stub.baseUrl() + " (use spring.ai.openai.base-url)");
+        stub.server.onDispose().block();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public OpenAiStubServer responder(Function<StubRequest, String> responder) {
+        this.responder = responder;
+        return this;
+    }
+
+    public OpenAiStubServer scorer(ToIntFunction<String> scorer) {
+        this.scorer = scorer;
+        return this;
+    }
+
+    public OpenAiStubServer tokenizer(ToIntFunction<String> tokenizer) {
+        this.tokenizer = tokenizer;
+        return this;
+    }
+
+    public OpenAiStubServer latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public OpenAiStubServer chunks(int chunkSize, Duration chunkDelay) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkDelay = chunkDelay;
+        return this;
+    }
+
+    public OpenAiStubServer errorRate(double errorRate, int status) {
+        this.errorRate = errorRate;
+        this.errorStatus = status;
+        return this;
+    }
+
+    public OpenAiStubServer enqueue(Fault... faults) {
+        scriptedFaults.addAll(List.of(faults));
+        return this;
+    }
+
+    public List<StubRequest> requests() {
+        return List.copyOf(requests);
+    }
+
+    public int requestCount() {
+        return requests.size();
+    }
+
+    public long promptTokens() {
+        return promptTokens.get();
+    }
+
+    public long completionTokens() {
+        return completionTokens.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(HttpServerRequest httpRequest, HttpServerResponse httpResponse) {
+        return httpRequest.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .map(this::parseRequest)
+                .flatMap(request -> {
+                    requests.add(request);
+                    Fault fault = nextFault();
+                    Duration delay = fault.latency() != null ? fault.latency() : sampleLatency();
+                    return Mono.delay(delay).then(Mono.defer(() -> respond(request, fault, httpResponse)));
+                });
+    }
+
+    private Mono<Void> respond(StubRequest request, Fault fault, HttpServerResponse httpResponse) {
+        if (fault.status() > 0) {
+            return sendError(httpResponse, fault.status());
+        }
+
+        String content = responder.apply(request);
+        if (fault.malformed()) {
+            content = malform(content);
+        }
+        String finishReason = "stop";
+        if (fault.truncateAt() < 1.0) {
+            content = content.substring(0, (int) (content.length() * Math.max(0, fault.truncateAt())));
+            finishReason = "length";
+        }
+
+        int prompt = tokenizer.applyAsInt(request.system() + request.user());
+        int completion = tokenizer.applyAsInt(content);
+        promptTokens.addAndGet(prompt);
+        completionTokens.addAndGet(completion);
+
+        String id = "chatcmpl-stub-" + sequence.incrementAndGet();
+        if (!request.stream()) {
+            return httpResponse.header("Content-Type", "application/json")
+                    .sendString(Mono.just(completionJson(id, request.model(), content, finishReason, prompt, completion)))
+                    .then();
+        }
+
+        List<String> events = new ArrayList<>();
+        for (int start = 0; start < content.length(); start += chunkSize) {
+            String piece = content.substring(start, Math.min(content.length(), start + chunkSize));
+            events.add(chunkJson(id, request.model(), piece, null));
+        }
+        events.add(chunkJson(id, request.model(), null, finishReason));
+        if (request.includeUsage()) {
+            events.add(usageChunkJson(id, request.model(), prompt, completion));
+        }
+
+        Flux<String> body = Flux.fromIterable(events).map(event -> "data: " + event + "\n\n");
+        if (!chunkDelay.isZero()) {
+            body = body.delayElements(chunkDelay);
+        }
+        if (fault.disconnect()) {
+            body = body.take(Math.max(1, events.size() / 2))
+                    .concatWith(Mono.error(new IOException("Conexão encerrada pelo stub")));
+        } else {
+            body = body.concatWithValues("data: [DONE]\n\n");
+        }
+        return httpResponse.header("Content-Type", "text/event-stream")
+                .sendString(body)
+                .then();
+    }
+
+    private Mono<Void> sendError(HttpServerResponse httpResponse, int status) {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putObject("error")
+                .put("message", "Stub error " + status)
+                .put("type", status == 429 ? "rate_limit_error" : "server_error");
+        HttpServerResponse response = httpResponse.status(status).header("Content-Type", "application/json");
+        if (status == 429) {
+            response = response.header("Retry-After", "1");
+        }
+        return response.sendString(Mono.just(error.toString())).then();
+    }
+
+    private Fault nextFault() {
+        Fault scripted = scriptedFaults.poll();
+        if (scripted != null) {
+            return scripted;
+        }
+        synchronized (random) {
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                return Fault.status(errorStatus);
+            }
+        }
+        return Fault.none();
+    }
+
+    private Duration sampleLatency() {
+        synchronized (random) {
+            return latency.next(random);
+        }
+    }
+
+    private StubRequest parseRequest(String body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            StringBuilder system = new StringBuilder();
+            StringBuilder user = new StringBuilder();
+            for (JsonNode message : root.path("messages")) {
+                String text = messageText(message.path("content"));
+                if ("system".equals(message.path("role").asText())) {
+                    system.append(text);
+                } else {
+                    user.append(text);
+                }
+            }
+            return new StubRequest(
+                    root.path("model").asText(null),
+                    root.path("temperature").isNumber() ? root.path("temperature").asDouble() : null,
+                    root.path("stream").asBoolean(false),
+                    root.path("stream_options").path("include_usage").asBoolean(false),
+                    system.toString(),
+                    user.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String messageText(JsonNode content) {
+        if (content.isTextual()) {
+            return content.asText();
+        }
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : content) {
+            text.append(part.path("text").asText(""));
+        }
+        return text.toString();
+    }
+
+    private String defaultResponse(StubRequest request) {
+        String prompt = request.user();
+        StringBuilder response = new StringBuilder();
+
+        Matcher fused = FUSED_LINE.matcher(prompt);
+        if (fused.find()) {
+            ObjectNode root = objectMapper.createObjectNode();
+            ArrayNode items = root.putArray("items");
+            do {
+                int id = Integer.parseInt(fused.group(1));
+                items.addObject()
+                        .put("id", id)
+                        .put("score", scorer.applyAsInt(fused.group(2)))
+                        .put("title", "Notícia traduzida número " + id)
+                        .put("summary", "Resumo em português da notícia número " + id + " para os leitores.");
+            } while (fused.find());
+            return root.toString();
+        }
+
+        Matcher batch = BATCH_TRANSLATION_LINE.matcher(prompt);
+        if (batch.find()) {
+            do {
+                int id = Integer.parseInt(batch.group(1));
+                response.append('[').append(id).append("]\n").append(translation(id));
+            } while (batch.find());
+            return response.toString();
+        }
+
+        if (SINGLE_TRANSLATION_LINE.matcher(prompt).find()) {
+            return translation(1);
+        }
+
+        Matcher scoring = SCORING_LINE.matcher(prompt);
+        while (scoring.find()) {
+            response.append("NOTA").append(scoring.group(1)).append(": ")
+                    .append(scorer.applyAsInt(scoring.group(2))).append('\n');
+        }
+        return response.length() > 0 ? response.toString() : "OK";
+    }
+
+    private String translation(int id) {
+        return "TÍTULO: Empresa anuncia novidade importante número " + id + "\n"
+                + "RESUMO: A empresa apresentou hoje uma novidade que deve chegar aos usuários brasileiros "
+                + "nas próximas semanas, segundo o comunicado oficial.\n";
+    }
+
+    private String malform(String content) {
+        return content.replace("NOTA", "NOTE")
+                .replace("TÍTULO:", "TITLE -")
+                .replace("RESUMO:", "SUMMARY -")
+                .replace("\"items\"", "\"entries\"");
+    }
+
+    private String completionJson(String id, String model, String content, String finishReason, int prompt, int completion) {
+        ObjectNode root = envelope(id, model, "chat.completion");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", finishReason);
+        usage(root, prompt, completion);
+        return root.toString();
+    }
+
+    private String chunkJson(String id, String model, String content, String finishReason) {
+        ObjectNode root = envelope(id, model, "chat.completion.chunk");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode delta = choice.putObject("delta");
+        if (content != null) {
+            delta.put("role", "assistant").put("content", content);
+        }
+        if (finishReason != null) {
+            choice.put("finish_reason", finishReason);
+        } else {
+            choice.putNull("finish_reason");
+        }
+        return root.toString();
+    }
+
+    private String usageChunkJson(String id, String model, int prompt, int completion) {
+        ObjectNode root = envelope(id, model, "chat.completion.chunk");
+        root.putArray("choices");
+        usage(root, prompt, completion);
+        return root.toString();
+    }
+
+    private ObjectNode envelope(String id, String model, String object) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", id);
+        root.put("object", object);
+        root.put("created", System.currentTimeMillis() / 1000);
+        root.put("model", model != null ? model : "stub");
+        return root;
+    }
+
+    private void usage(ObjectNode root, int prompt, int completion) {
+        root.putObject("usage")
+                .put("prompt_tokens", prompt)
+                .put("completion_tokens", completion)
+                .put("total_tokens", prompt + completion);
+    }
+
+    public record StubRequest(String model, Double temperature, boolean stream, boolean includeUsage,
+                              String system, String user) {}
+
+    public record Fault(int status, double truncateAt, boolean malformed, boolean disconnect, Duration latency) {
+
+        public static Fault none() {
+            return new Fault(0, 1.0, false, false, null);
+        }
+
+        public static Fault status(int status) {
+            return new Fault(status, 1.0, false, false, null);
+        }
+
+        public static Fault truncated(double keepFraction) {
+            return new Fault(0, keepFraction, false, false, null);
+        }
+
+        public static Fault malformedOutput() {
+            return new Fault(0, 1.0, true, false, null);
+        }
+
+        public static Fault disconnected() {
+            return new Fault(0, 1.0, false, true, null);
+        }
+
+        public static Fault delayed(Duration latency) {
+            return new Fault(0, 1.0, false, false, latency);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Latency {
+
+        Duration next(Random random);
+
+        static Latency fixed(Duration latency) {
+            return random -> latency;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            return random -> min.plusMillis((long) (random.nextDouble() * (max.toMillis() - min.toMillis())));
+        }
+
+        static Latency logNormal(Duration median, double sigma) {
+            return random -> Duration.ofMillis((long) (median.toMillis() * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+}
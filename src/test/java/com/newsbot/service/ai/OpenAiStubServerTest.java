@@ -0,0 +1,204 @@
+package com.newsbot.service.ai;
+
+import com.newsbot.config.AiBudgetConfig;
+import com.newsbot.config.AiRoutingConfig;
+import com.newsbot.service.prompt.PromptBudgetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenAiStubServerTest {
+
+    private static final String SCORING_PROMPT = """
+            Evaluate these news titles (1-10):
+
+            1. [TechCrunch] Microsoft announces new Surface lineup
+            2. [The Verge] Nintendo reveals next console
+            3. [Ars Technica] Linux kernel release adds new scheduler
+
+            RESPONSE (NOTA1: X, NOTA2: Y, ...):""";
+
+    private OpenAiStubServer stub;
+    private AiRoutingConfig routingConfig;
+    private AiBudgetConfig budgetConfig;
+    private LlmUsageTracker usageTracker;
+    private PromptBudgetService promptBudget;
+
+    @BeforeEach
+    void setUp() {
+        stub = OpenAiStubServer.start().scorer(title -> 7);
+        routingConfig = new AiRoutingConfig();
+        budgetConfig = new AiBudgetConfig();
+        usageTracker = new LlmUsageTracker(budgetConfig);
+        promptBudget = new PromptBudgetService();
+        ReflectionTestUtils.setField(promptBudget, "maxRequestTokens", 6000);
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 128000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void call_shouldStreamScriptedScoresAndAccountTokens() {
+        StepVerifier.create(gateway(Duration.ofSeconds(10)).call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectNext("NOTA1: 7\nNOTA2: 7\nNOTA3: 7\n")
+                .verifyComplete();
+
+        assertEquals(1, stub.requestCount());
+        assertTrue(stub.requests().get(0).stream());
+        assertTrue(stub.promptTokens() > 0);
+        assertTrue(stub.completionTokens() > 0);
+    }
+
+    @Test
+    void call_shouldFailOverToAlternativeProfileOnRateLimit() {
+        enableRouting();
+        stub.enqueue(OpenAiStubServer.Fault.status(429));
+
+        StepVerifier.create(gateway(Duration.ofSeconds(10)).call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .assertNext(response -> assertTrue(response.contains("NOTA3: 7")))
+                .verifyComplete();
+
+        assertEquals(List.of("gpt-4o-mini", "gpt-4o"),
+                stub.requests().stream().map(OpenAiStubServer.StubRequest::model).toList());
+    }
+
+    @Test
+    void call_shouldTimeOutWhenStubIsSlowerThanGatewayTimeout() {
+        stub.latency(OpenAiStubServer.Latency.fixed(Duration.ofMillis(500)));
+
+        StepVerifier.create(gateway(Duration.ofMillis(100)).call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void call_shouldReturnTruncatedAndMalformedOutputAsScripted() {
+        stub.enqueue(OpenAiStubServer.Fault.truncated(0.5), OpenAiStubServer.Fault.malformedOutput());
+        LlmGateway gateway = gateway(Duration.ofSeconds(10));
+
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .assertNext(response -> assertFalse(response.contains("NOTA3")))
+                .verifyComplete();
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .assertNext(response -> assertTrue(response.startsWith("NOTE1")))
+                .verifyComplete();
+    }
+
+    @Test
+    void call_shouldAnswerTranslationPromptsInPortuguese() {
+        String prompt = """
+                TÍTULO ORIGINAL: Company announces new product
+                DESCRIÇÃO ORIGINAL: The company announced a new product today.
+                """;
+
+        StepVerifier.create(gateway(Duration.ofSeconds(10)).call(LlmTask.TRANSLATION, false, null, prompt))
+                .assertNext(response -> assertTrue(response.startsWith("TÍTULO: ") && response.contains("RESUMO: ")))
+                .verifyComplete();
+    }
+
+    @Test
+    void call_shouldRecordTokenUsageReportedByTheApi() {
+        usageTracker.startRun();
+
+        StepVerifier.create(gateway(Duration.ofSeconds(10)).call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(stub.promptTokens() + stub.completionTokens(), usageTracker.runTokens());
+    }
+
+    @Test
+    void call_shouldRefuseLowPriorityTasksOnceRunBudgetIsSpent() {
+        budgetConfig.setEnabled(true);
+        budgetConfig.setRunTokens(1);
+        usageTracker.startRun();
+        LlmGateway gateway = gateway(Duration.ofSeconds(10));
+
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertFalse(gateway.hasBudget(LlmTask.SCORING));
+        assertTrue(gateway.hasBudget(LlmTask.TRANSLATION));
+        assertEquals(1, stub.requestCount());
+    }
+
+    @Test
+    void call_shouldKeepBreakingScoringRunningAfterDailyRunBudgetIsSpent() {
+        budgetConfig.setEnabled(true);
+        budgetConfig.setRunTokens(1);
+        usageTracker.startRun();
+        LlmGateway gateway = gateway(Duration.ofSeconds(10));
+
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT))
+                .expectNextCount(1)
+                .verifyComplete();
+        long dailyRunTokens = usageTracker.runTokens();
+        assertFalse(gateway.hasBudget(LlmTask.SCORING));
+
+        usageTracker.startRun(LlmBudgetScope.BREAKING);
+        StepVerifier.create(gateway.call(LlmTask.SCORING, false, "system", SCORING_PROMPT)
+                        .contextWrite(Context.of(LlmBudgetScope.class, LlmBudgetScope.BREAKING)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, stub.requestCount());
+        assertEquals(dailyRunTokens, usageTracker.runTokens());
+        assertEquals(stub.promptTokens() + stub.completionTokens(), usageTracker.runTokens(LlmBudgetScope.BREAKING));
+    }
+
+    private void enableRouting() {
+        routingConfig.setEnabled(true);
+        routingConfig.getProfiles().put("fast", profile("gpt-4o-mini"));
+        routingConfig.getProfiles().put("strong", profile("gpt-4o"));
+        AiRoutingConfig.TaskRoute scoring = new AiRoutingConfig.TaskRoute();
+        scoring.setPrimary("fast");
+        scoring.setFailover("strong");
+        routingConfig.getTasks().put("scoring", scoring);
+    }
+
+    private LlmGateway gateway(Duration timeout) {
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .baseUrl(stub.baseUrl())
+                .apiKey("stub-key")
+                .build();
+        OpenAiChatModel chatModel = OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(OpenAiChatOptions.builder().model("gpt-4o-mini").streamUsage(true).build())
+                .build();
+        ChatClient chatClient = ChatClient.builder(chatModel)
+                .defaultAdvisors(new LlmUsageAdvisor(usageTracker, promptBudget))
+                .build();
+
+        return new LlmGateway(chatClient, new LlmModelRouter(routingConfig), usageTracker,
+                new AdaptiveConcurrencyLimiter(4, 1, 16, 2.0), new LlmRateLimiter(false, 500, 200000),
+                promptBudget, timeout, 0);
+    }
+
+    private static AiRoutingConfig.ModelProfile profile(String model) {
+        AiRoutingConfig.ModelProfile profile = new AiRoutingConfig.ModelProfile();
+        profile.setModel(model);
+        return profile;
+    }
+}
@@ -0,0 +1,68 @@
+package com.newsbot.service.discord;
+
+import com.newsbot.dto.Embed;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscordEmbedPackerTest {
+
+    @Test
+    void pack_shouldRespectEmbedCountLimit() {
+        List<Embed> embeds = List.of(embed(10), embed(10), embed(10), embed(10), embed(10));
+
+        List<List<Embed>> messages = new DiscordEmbedPacker(2, DiscordEmbedPacker.MAX_TOTAL_CHARACTERS)
+                .pack(embeds, Function.identity());
+
+        assertEquals(3, messages.size());
+        assertTrue(messages.stream().allMatch(message -> message.size() <= 2));
+    }
+
+    @Test
+    void pack_shouldFillMessagesUpToCharacterLimit() {
+        Embed large1 = embed(3500);
+        Embed small1 = embed(2000);
+        Embed large2 = embed(3500);
+        Embed small2 = embed(2000);
+
+        List<List<Embed>> messages = new DiscordEmbedPacker(10, DiscordEmbedPacker.MAX_TOTAL_CHARACTERS)
+                .pack(List.of(large1, small1, large2, small2), Function.identity());
+
+        assertEquals(List.of(List.of(large1, small1), List.of(large2, small2)), messages);
+    }
+
+    @Test
+    void pack_shouldKeepOversizedEmbedInItsOwnMessage() {
+        Embed oversized = embed(7000);
+        Embed small = embed(100);
+
+        List<List<Embed>> messages = new DiscordEmbedPacker(10, 5000)
+                .pack(List.of(small, oversized), Function.identity());
+
+        assertEquals(2, messages.size());
+        assertEquals(List.of(small), messages.get(0));
+        assertEquals(List.of(oversized), messages.get(1));
+    }
+
+    @Test
+    void characters_shouldCountTruncatedTitleAndDescription() {
+        Embed embed = Embed.builder()
+                .title("t".repeat(300))
+                .description("d".repeat(5000))
+                .build();
+
+        assertEquals(DiscordEmbedPacker.MAX_TITLE_LENGTH + DiscordEmbedPacker.MAX_DESCRIPTION_LENGTH,
+                DiscordEmbedPacker.characters(embed));
+    }
+
+    private static Embed embed(int descriptionLength) {
+        return Embed.builder()
+                .title("")
+                .description("x".repeat(descriptionLength))
+                .build();
+    }
+}
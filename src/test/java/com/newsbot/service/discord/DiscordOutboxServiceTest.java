@@ -0,0 +1,178 @@
+package com.newsbot.service.discord;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsbot.dto.Embed;
+import com.newsbot.model.DiscordOutboxEntry;
+import com.newsbot.model.NewsArticle;
+import com.newsbot.repository.DiscordOutboxRepository;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiscordOutboxServiceTest {
+
+    @Mock
+    private DiscordOutboxRepository outboxRepository;
+
+    private DiscordOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new DiscordOutboxService(outboxRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(outboxService, "claimTimeout", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(outboxService, "instanceId", "newsbot");
+    }
+
+    @Test
+    void releaseAll_shouldReleaseClaimsHeldByThisInstanceId() {
+        when(outboxRepository.releaseAll("newsbot")).thenReturn(Mono.just(2));
+
+        StepVerifier.create(outboxService.releaseAll())
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void enqueue_shouldPersistRenderedEmbedOncePerWebhookAsClaimed() {
+        NewsArticle article = createTestArticle();
+        Embed embed = Embed.builder().title("Título").description("Resumo").url(article.getUrl()).build();
+        when(outboxRepository.enqueue(eq(1L), anyString(), anyString(), anyString(), any(LocalDateTime.class), isNull(),
+                any(LocalDateTime.class), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxService.enqueue(article, embed, List.of("https://a", "https://b")))
+                .expectNext(List.of("https://a", "https://b"))
+                .verifyComplete();
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).enqueue(eq(1L), eq("https://a"), eq(outboxService.idempotencyKey(article, "https://a")),
+                payload.capture(), any(LocalDateTime.class), isNull(), any(LocalDateTime.class), anyString(),
+                any(LocalDateTime.class));
+        verify(outboxRepository).enqueue(eq(1L), eq("https://b"), eq(outboxService.idempotencyKey(article, "https://b")),
+                anyString(), any(LocalDateTime.class), isNull(), any(LocalDateTime.class), anyString(),
+                any(LocalDateTime.class));
+        assertEquals(embed, outboxService.embed(DiscordOutboxEntry.builder().payload(payload.getValue()).build()));
+    }
+
+    @Test
+    void enqueue_shouldOnlyReturnWebhooksWhoseRowWasClaimed() {
+        when(outboxRepository.enqueue(anyLong(), eq("https://a"), anyString(), anyString(), any(LocalDateTime.class),
+                isNull(), any(LocalDateTime.class), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(0));
+        when(outboxRepository.enqueue(anyLong(), eq("https://b"), anyString(), anyString(), any(LocalDateTime.class),
+                isNull(), any(LocalDateTime.class), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxService.enqueue(createTestArticle(), Embed.builder().title("Título").build(),
+                        List.of("https://a", "https://b")))
+                .expectNext(List.of("https://b"))
+                .verifyComplete();
+    }
+
+    @Test
+    void enqueue_shouldHoldStagedEmbedsUnclaimedUntilDeliveryTime() {
+        NewsArticle article = createTestArticle();
+        LocalDateTime deliverAt = LocalDateTime.now().plusMinutes(30);
+        when(outboxRepository.enqueue(anyLong(), anyString(), anyString(), anyString(), any(LocalDateTime.class),
+                eq(deliverAt), isNull(), isNull(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxService.enqueue(article, Embed.builder().title("Título").build(),
+                        List.of("https://a"), deliverAt))
+                .expectNext(List.of("https://a"))
+                .verifyComplete();
+
+        verify(outboxRepository).enqueue(eq(1L), eq("https://a"), anyString(), anyString(), any(LocalDateTime.class),
+                eq(deliverAt), isNull(), isNull(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void enqueue_shouldPropagateDatabaseErrors() {
+        when(outboxRepository.enqueue(anyLong(), anyString(), anyString(), anyString(), any(LocalDateTime.class), isNull(),
+                any(LocalDateTime.class), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(outboxService.enqueue(createTestArticle(), Embed.builder().title("Título").build(),
+                        List.of("https://a")))
+                .expectErrorMessage("Database error")
+                .verify();
+    }
+
+    @Test
+    void enqueue_shouldNotQueueArticlesWithoutId() {
+        NewsArticle article = createTestArticle();
+        article.setId(null);
+
+        StepVerifier.create(outboxService.enqueue(article, Embed.builder().title("Título").build(), List.of("https://a")))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void idempotencyKey_shouldKeepWebhookTokenCase() {
+        NewsArticle article = createTestArticle();
+
+        assertNotEquals(outboxService.idempotencyKey(article, "https://discord.com/api/webhooks/1/AbC"),
+                outboxService.idempotencyKey(article, "https://discord.com/api/webhooks/1/abc"));
+        assertEquals(ContentDuplicateDetector.sha256("abcdef|https://a"), outboxService.idempotencyKey(article, "https://a"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acknowledge_shouldUseSameKeysAsEnqueue() {
+        NewsArticle article = createTestArticle();
+        when(outboxRepository.acknowledge(any(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxService.acknowledge(List.of(article), "https://a"))
+                .verifyComplete();
+
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).acknowledge(keys.capture(), any(LocalDateTime.class));
+        assertEquals(List.of(outboxService.idempotencyKey(article, "https://a")), List.copyOf(keys.getValue()));
+    }
+
+    @Test
+    void acknowledge_shouldSkipEmptyBatches() {
+        StepVerifier.create(outboxService.acknowledge(List.of(), "https://a"))
+                .verifyComplete();
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void embed_shouldReturnNullForInvalidPayload() {
+        assertNull(outboxService.embed(DiscordOutboxEntry.builder().id(1L).payload("{invalid").build()));
+    }
+
+    private NewsArticle createTestArticle() {
+        return NewsArticle.builder()
+                .id(1L)
+                .title("Test Article")
+                .description("This is a test article")
+                .url("https://example.com/test")
+                .contentHash("abcdef")
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.newsbot.service.discord;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsbot.dto.DiscordWebhookPayload;
+import com.newsbot.dto.Embed;
+import com.newsbot.model.DiscordOutboxEntry;
+import com.newsbot.repository.DiscordOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiscordOutboxWorkerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Mock
+    private DiscordOutboxRepository outboxRepository;
+
+    @Mock
+    private DiscordWebhookService discordService;
+
+    private DiscordOutboxWorker outboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        DiscordOutboxService outboxService = new DiscordOutboxService(outboxRepository, OBJECT_MAPPER);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(outboxService, "drainBatchSize", 100);
+        ReflectionTestUtils.setField(outboxService, "claimTimeout", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(outboxService, "instanceId", "newsbot");
+        outboxWorker = new DiscordOutboxWorker(outboxService, discordService);
+        ReflectionTestUtils.setField(outboxWorker, "maxEmbedsPerMessage", 10);
+    }
+
+    @Test
+    void drain_shouldResendPendingEmbedsPerWebhookAndAcknowledgeThem() throws Exception {
+        when(outboxRepository.claimPending(eq(5), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyString(), eq(100))).thenReturn(Flux.just(
+                entry(1L, "https://a", "key-1"),
+                entry(2L, "https://b", "key-2"),
+                entry(3L, "https://a", "key-3")));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(((DiscordWebhookPayload) invocation.getArgument(1)).getEmbeds()));
+        when(outboxRepository.acknowledge(any(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxWorker.drain())
+                .expectNext(3)
+                .verifyComplete();
+
+        verify(discordService).sendEmbeds(eq("https://a"),
+                argThat(payload -> payload.getEmbeds().size() == 2));
+        verify(discordService).sendEmbeds(eq("https://b"),
+                argThat(payload -> payload.getEmbeds().size() == 1));
+        verify(outboxRepository).acknowledge(eq(List.of("key-1", "key-3")), any(LocalDateTime.class));
+        verify(outboxRepository).acknowledge(eq(List.of("key-2")), any(LocalDateTime.class));
+        verify(outboxRepository, never()).recordFailure(any(), anyString());
+    }
+
+    @Test
+    void drain_shouldRecordFailureAndKeepEntriesPendingWhenDiscordRejectsTheBatch() throws Exception {
+        when(outboxRepository.claimPending(eq(5), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyString(), eq(100))).thenReturn(Flux.just(entry(1L, "https://a", "key-1")));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenReturn(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+        when(outboxRepository.recordFailure(any(), anyString())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxWorker.drain())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(outboxRepository).recordFailure(eq(List.of("key-1")), anyString());
+        verify(outboxRepository, never()).acknowledge(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void drain_shouldKeepClaimWhenDeliveryOutcomeIsUnknown() throws Exception {
+        when(outboxRepository.claimPending(eq(5), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyString(), eq(100))).thenReturn(Flux.just(entry(1L, "https://a", "key-1")));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenReturn(Mono.error(new RuntimeException("Connection reset")));
+        when(outboxRepository.recordAttempt(any(), anyString())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(outboxWorker.drain())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(outboxRepository).recordAttempt(eq(List.of("key-1")), eq("Connection reset"));
+        verify(outboxRepository, never()).recordFailure(any(), anyString());
+    }
+
+    @Test
+    void resumeOnStartup_shouldReleaseClaimsFromThePreviousRunBeforeDraining() {
+        when(outboxRepository.releaseAll("newsbot")).thenReturn(Mono.just(1));
+        when(outboxRepository.claimPending(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq("newsbot"), anyInt())).thenReturn(Flux.empty());
+
+        outboxWorker.resumeOnStartup();
+
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).releaseAll("newsbot");
+        inOrder.verify(outboxRepository).claimPending(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq("newsbot"), anyInt());
+    }
+
+    @Test
+    void drain_shouldNotCallDiscordWhenOutboxIsEmpty() {
+        when(outboxRepository.claimPending(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyString(), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(outboxWorker.drain())
+                .expectNext(0)
+                .verifyComplete();
+
+        verifyNoInteractions(discordService);
+    }
+
+    private DiscordOutboxEntry entry(Long id, String webhookUrl, String key) throws Exception {
+        Embed embed = Embed.builder()
+                .title("Título " + id)
+                .description("Resumo " + id)
+                .url("https://example.com/" + id)
+                .build();
+        return DiscordOutboxEntry.builder()
+                .id(id)
+                .articleId(id)
+                .webhookUrl(webhookUrl)
+                .idempotencyKey(key)
+                .payload(OBJECT_MAPPER.writeValueAsString(embed))
+                .attempts(0)
+                .build();
+    }
+}
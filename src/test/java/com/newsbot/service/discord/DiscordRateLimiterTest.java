@@ -0,0 +1,91 @@
+package com.newsbot.service.discord;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DiscordRateLimiterTest {
+
+    private static final String WEBHOOK = "https://discord.com/api/webhooks/1/token";
+    private static final String OTHER_WEBHOOK = "https://discord.com/api/webhooks/2/token";
+
+    private final DiscordRateLimiter rateLimiter = new DiscordRateLimiter();
+
+    @Test
+    void acquire_shouldSendImmediatelyWhileBucketHasRemainingRequests() {
+        rateLimiter.acquire(WEBHOOK).block();
+        rateLimiter.update(WEBHOOK, 204, headers("5", "3", "2.0"));
+
+        StepVerifier.create(rateLimiter.acquire(WEBHOOK))
+                .expectSubscription()
+                .expectComplete()
+                .verify(Duration.ofMillis(50));
+    }
+
+    @Test
+    void acquire_shouldWaitForBucketResetWhenExhausted() {
+        rateLimiter.acquire(WEBHOOK).block();
+        rateLimiter.update(WEBHOOK, 204, headers("5", "0", "0.3"));
+
+        StepVerifier.create(rateLimiter.acquire(WEBHOOK))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void update_shouldPauseEveryWebhookOnGlobalRateLimit() {
+        rateLimiter.acquire(WEBHOOK).block();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Retry-After", "0.3");
+        headers.add("X-RateLimit-Global", "true");
+        rateLimiter.update(WEBHOOK, 429, headers);
+
+        StepVerifier.create(rateLimiter.acquire(OTHER_WEBHOOK))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void update_shouldWaitForRetryAfterOnRateLimitEvenWhenBucketResetsLater() {
+        rateLimiter.acquire(WEBHOOK).block();
+        HttpHeaders headers = headers("5", "0", "30");
+        headers.add("Retry-After", "0.2");
+        rateLimiter.update(WEBHOOK, 429, headers);
+
+        StepVerifier.create(rateLimiter.acquire(WEBHOOK))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void acquire_shouldDropIdleBucketsAfterReset() {
+        rateLimiter.acquire(WEBHOOK).block();
+        rateLimiter.update(WEBHOOK, 204, headers("5", "4", "0.05"));
+
+        Mono.delay(Duration.ofMillis(100)).then(rateLimiter.acquire(OTHER_WEBHOOK)).block();
+
+        Map<?, ?> buckets = (Map<?, ?>) ReflectionTestUtils.getField(rateLimiter, "buckets");
+        assertEquals(1, buckets.size());
+    }
+
+    private static HttpHeaders headers(String limit, String remaining, String resetAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Limit", limit);
+        headers.add("X-RateLimit-Remaining", remaining);
+        headers.add("X-RateLimit-Reset-After", resetAfter);
+        return headers;
+    }
+}
@@ -1,23 +1,35 @@
 package com.newsbot.service.discord;
 
 import com.newsbot.dto.DiscordWebhookPayload;
+import com.newsbot.dto.Embed;
 import com.newsbot.model.NewsArticle;
 import com.newsbot.service.translation.NewsTranslationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +41,9 @@ class NewsDiscordBatchProcessorTest {
     @Mock
     private DiscordWebhookService discordService;
 
+    @Mock
+    private DiscordOutboxService outboxService;
+
     @InjectMocks
     private NewsDiscordBatchProcessor batchProcessor;
 
@@ -36,6 +51,11 @@ class NewsDiscordBatchProcessorTest {
     void setUp() {
         ReflectionTestUtils.setField(batchProcessor, "embedColor", 3447003);
         ReflectionTestUtils.setField(batchProcessor, "maxEmbedsPerMessage", 2);
+        ReflectionTestUtils.setField(batchProcessor, "flushInterval", Duration.ofSeconds(2));
+        lenient().when(outboxService.enqueue(any(NewsArticle.class), any(Embed.class), anyList()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(2)));
+        lenient().when(outboxService.acknowledge(anyList(), anyString())).thenReturn(Mono.empty());
+        lenient().when(outboxService.release(anyList(), anyString())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -43,7 +63,7 @@ class NewsDiscordBatchProcessorTest {
         NewsArticle article1 = createTestArticle(1L);
         NewsArticle article2 = createTestArticle(2L);
         List<NewsArticle> articles = List.of(article1, article2);
-        String webhookUrl = "https://discord.webhook.url";
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
 
         NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
                 .title("Translated Title")
@@ -53,9 +73,9 @@ class NewsDiscordBatchProcessorTest {
         when(newsTranslationService.processSingleNews(anyString(), anyString()))
                 .thenReturn(Mono.just(processedNews));
         when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
-                .thenReturn(Mono.empty());
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1))));
 
-        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrl);
+        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrls);
 
         StepVerifier.create(result)
                 .expectNextMatches(sentArticles -> 
@@ -71,9 +91,9 @@ class NewsDiscordBatchProcessorTest {
     @Test
     void processAndSendToDiscord_shouldHandleEmptyArticleList() {
         List<NewsArticle> articles = List.of();
-        String webhookUrl = "https://discord.webhook.url";
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
 
-        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrl);
+        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrls);
 
         StepVerifier.create(result)
                 .expectNextMatches(List::isEmpty)
@@ -88,7 +108,7 @@ class NewsDiscordBatchProcessorTest {
         NewsArticle article1 = createTestArticle(1L);
         NewsArticle article2 = createTestArticle(2L);
         List<NewsArticle> articles = List.of(article1, article2);
-        String webhookUrl = "https://discord.webhook.url";
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
 
         NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
                 .title("Translated Title")
@@ -100,9 +120,9 @@ class NewsDiscordBatchProcessorTest {
         when(newsTranslationService.processSingleNews(article2.getTitle(), article2.getDescription()))
                 .thenReturn(Mono.just(processedNews));
         when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
-                .thenReturn(Mono.empty());
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1))));
 
-        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrl);
+        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrls);
 
         StepVerifier.create(result)
                 .expectNextMatches(sentArticles -> 
@@ -119,7 +139,7 @@ class NewsDiscordBatchProcessorTest {
         NewsArticle article1 = createTestArticle(1L);
         NewsArticle article2 = createTestArticle(2L);
         List<NewsArticle> articles = List.of(article1, article2);
-        String webhookUrl = "https://discord.webhook.url";
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
 
         NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
                 .title("Translated Title")
@@ -131,7 +151,7 @@ class NewsDiscordBatchProcessorTest {
         when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
                 .thenReturn(Mono.error(new RuntimeException("Discord error")));
 
-        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrl);
+        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrls);
 
         StepVerifier.create(result)
                 .expectNextMatches(List::isEmpty)
@@ -139,6 +159,235 @@ class NewsDiscordBatchProcessorTest {
 
         verify(newsTranslationService, times(2)).processSingleNews(anyString(), anyString());
         verify(discordService, times(1)).sendEmbeds(anyString(), any(DiscordWebhookPayload.class));
+        verify(outboxService, never()).release(anyList(), anyString());
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldReleaseClaimsWhenDiscordRejectsTheBatch() {
+        NewsArticle article = createTestArticle(1L);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(NewsTranslationService.ProcessedNews.builder()
+                        .title("Translated Title")
+                        .description("Translated Description")
+                        .build()));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenReturn(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(article), webhookUrls))
+                .expectNextMatches(List::isEmpty)
+                .verifyComplete();
+
+        verify(outboxService).release(eq(List.of(article)), eq(webhookUrls.get(0)));
+        verify(outboxService, never()).acknowledge(anyList(), anyString());
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldTranslateInBatchesWhenEnabled() {
+        ReflectionTestUtils.setField(batchProcessor, "batchTranslationEnabled", true);
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        List<NewsArticle> articles = List.of(article1, article2);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processNewsBatch(anyList()))
+                .thenReturn(Flux.just(new NewsTranslationService.IndexedNews(1, processedNews)));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1))));
+
+        Mono<List<NewsArticle>> result = batchProcessor.processAndSendToDiscord(articles, webhookUrls);
+
+        StepVerifier.create(result)
+                .expectNextMatches(sentArticles ->
+                    sentArticles.size() == 1 &&
+                    sentArticles.contains(article2))
+                .verifyComplete();
+
+        verify(newsTranslationService, times(1)).processNewsBatch(anyList());
+        verify(newsTranslationService, never()).processSingleNews(anyString(), anyString());
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldSendFullMessagesWhileTranslationsAreStillRunning() {
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        NewsArticle slowArticle = createTestArticle(3L);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+        AtomicBoolean slowTranslationDone = new AtomicBoolean();
+        List<Boolean> slowDoneAtSend = new CopyOnWriteArrayList<>();
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processSingleNews(article1.getTitle(), article1.getDescription()))
+                .thenReturn(Mono.just(processedNews));
+        when(newsTranslationService.processSingleNews(article2.getTitle(), article2.getDescription()))
+                .thenReturn(Mono.just(processedNews));
+        when(newsTranslationService.processSingleNews(slowArticle.getTitle(), slowArticle.getDescription()))
+                .thenReturn(Mono.delay(Duration.ofMillis(300))
+                        .map(tick -> processedNews)
+                        .doOnNext(news -> slowTranslationDone.set(true)));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> {
+                    slowDoneAtSend.add(slowTranslationDone.get());
+                    return Mono.just(sentEmbeds(invocation.getArgument(1)));
+                });
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(article1, article2, slowArticle), webhookUrls))
+                .expectNextMatches(sentArticles -> sentArticles.size() == 3)
+                .verifyComplete();
+
+        assertEquals(List.of(false, true), slowDoneAtSend);
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldOnlyReportArticlesWhoseEmbedsWereSent() {
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(processedNews));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1)).subList(0, 1)));
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(article1, article2), webhookUrls))
+                .expectNextMatches(sentArticles -> sentArticles.size() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldSplitMessagesThatWouldExceedCharacterLimit() {
+        ReflectionTestUtils.setField(batchProcessor, "maxEmbedsPerMessage", 10);
+        List<NewsArticle> articles = List.of(createTestArticle(1L), createTestArticle(2L), createTestArticle(3L));
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+        List<Integer> messageSizes = new CopyOnWriteArrayList<>();
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("x".repeat(2500))
+                .build();
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(processedNews));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> {
+                    List<Embed> embeds = sentEmbeds(invocation.getArgument(1));
+                    messageSizes.add(embeds.stream().mapToInt(DiscordEmbedPacker::characters).sum());
+                    return Mono.just(embeds);
+                });
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(articles, webhookUrls))
+                .expectNextMatches(sentArticles -> sentArticles.size() == 3)
+                .verifyComplete();
+
+        assertEquals(2, messageSizes.size());
+        assertTrue(messageSizes.stream().allMatch(size -> size <= DiscordEmbedPacker.MAX_TOTAL_CHARACTERS));
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldTranslateOnceAndDeliverToEachWebhookIndependently() {
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        String healthyUrl = "https://discord.webhook.url/healthy";
+        String failingUrl = "https://discord.webhook.url/failing";
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(processedNews));
+        when(discordService.sendEmbeds(eq(healthyUrl), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1))));
+        when(discordService.sendEmbeds(eq(failingUrl), any(DiscordWebhookPayload.class)))
+                .thenReturn(Mono.error(new RuntimeException("Discord error")));
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(article1, article2),
+                        List.of(failingUrl, healthyUrl)))
+                .expectNextMatches(sentArticles -> sentArticles.size() == 2
+                        && sentArticles.contains(article1)
+                        && sentArticles.contains(article2))
+                .verifyComplete();
+
+        verify(newsTranslationService, times(2)).processSingleNews(anyString(), anyString());
+        verify(discordService, times(1)).sendEmbeds(eq(healthyUrl), any(DiscordWebhookPayload.class));
+        verify(discordService, times(1)).sendEmbeds(eq(failingUrl), any(DiscordWebhookPayload.class));
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldPersistEmbedsBeforeSendingAndAcknowledgeOnlyDelivered() {
+        NewsArticle article1 = createTestArticle(1L);
+        NewsArticle article2 = createTestArticle(2L);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(processedNews));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1)).subList(0, 1)));
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(article1, article2), webhookUrls))
+                .expectNextMatches(sentArticles -> sentArticles.size() == 1)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(outboxService, discordService);
+        inOrder.verify(outboxService, times(2)).enqueue(any(NewsArticle.class), any(Embed.class), eq(webhookUrls));
+        inOrder.verify(discordService).sendEmbeds(anyString(), any(DiscordWebhookPayload.class));
+        inOrder.verify(outboxService).acknowledge(argThat(acked -> acked.size() == 1), eq(webhookUrls.get(0)));
+        inOrder.verify(outboxService).release(argThat(released -> released.size() == 1), eq(webhookUrls.get(0)));
+    }
+
+    @Test
+    void processAndSendToDiscord_shouldOnlySendEmbedsWithAClaimedOutboxRow() {
+        NewsArticle queued = createTestArticle(1L);
+        NewsArticle unqueued = createTestArticle(2L);
+        NewsArticle claimedElsewhere = createTestArticle(3L);
+        List<String> webhookUrls = List.of("https://discord.webhook.url");
+
+        NewsTranslationService.ProcessedNews processedNews = NewsTranslationService.ProcessedNews.builder()
+                .title("Translated Title")
+                .description("Translated Description")
+                .build();
+
+        when(newsTranslationService.processSingleNews(anyString(), anyString()))
+                .thenReturn(Mono.just(processedNews));
+        when(outboxService.enqueue(eq(unqueued), any(Embed.class), anyList()))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+        when(outboxService.enqueue(eq(claimedElsewhere), any(Embed.class), anyList()))
+                .thenReturn(Mono.just(List.of()));
+        when(discordService.sendEmbeds(anyString(), any(DiscordWebhookPayload.class)))
+                .thenAnswer(invocation -> Mono.just(sentEmbeds(invocation.getArgument(1))));
+
+        StepVerifier.create(batchProcessor.processAndSendToDiscord(List.of(queued, unqueued, claimedElsewhere),
+                        webhookUrls))
+                .expectNext(List.of(queued))
+                .verifyComplete();
+
+        verify(discordService, times(1)).sendEmbeds(anyString(),
+                argThat(payload -> payload.getEmbeds().size() == 1));
+    }
+
+    private static List<Embed> sentEmbeds(DiscordWebhookPayload payload) {
+        return payload.getEmbeds();
     }
 
     private NewsArticle createTestArticle(Long id) {
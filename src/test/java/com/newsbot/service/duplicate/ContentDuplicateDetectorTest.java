@@ -54,6 +54,14 @@ class ContentDuplicateDetectorTest {
                 "Null content should be treated as empty string");
     }
 
+    @Test
+    void sha256_shouldKeepCaseAndPunctuation() {
+        assertNotEquals(ContentDuplicateDetector.sha256("Responda em JSON: {score}"),
+                ContentDuplicateDetector.sha256("responda em json score"));
+        assertEquals(contentDuplicateDetector.generateContentHash("Test"),
+                ContentDuplicateDetector.sha256("test"));
+    }
+
     @Test
     void areContentsSimilar_shouldReturnTrueForSimilarContent() {
         String content1 = "Breaking news: New iPhone 15 released today";
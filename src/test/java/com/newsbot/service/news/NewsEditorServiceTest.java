@@ -1,35 +1,61 @@
 package com.newsbot.service.news;
 
 import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmBudgetScope;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.prompt.PromptBudgetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NewsEditorServiceTest {
 
     @Mock
-    private ChatClient chatClient;
+    private LlmGateway llmGateway;
+
+    @Mock
+    private NewsScoreCacheService scoreCacheService;
+
+    @Mock
+    private NewsPreRanker preRanker;
 
     private NewsEditorService newsEditorService;
 
     @BeforeEach
     void setUp() {
-        newsEditorService = new NewsEditorService(chatClient);
+        PromptBudgetService promptBudget = new PromptBudgetService();
+        ReflectionTestUtils.setField(promptBudget, "maxRequestTokens", 6000);
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 128000);
+        newsEditorService = new NewsEditorService(llmGateway, scoreCacheService, preRanker, promptBudget);
         ReflectionTestUtils.setField(newsEditorService, "topNewsCount", 3);
+        ReflectionTestUtils.setField(newsEditorService, "shardSize", 2);
+        ReflectionTestUtils.setField(newsEditorService, "shardConcurrency", 2);
+        lenient().when(preRanker.shortlist(anyList())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        lenient().when(llmGateway.hasBudget(any(LlmTask.class))).thenReturn(true);
+        lenient().when(llmGateway.hasBudget(any(LlmTask.class), any(LlmBudgetScope.class))).thenReturn(true);
+        lenient().when(llmGateway.retrySpec()).thenReturn(Retry.backoff(0, Duration.ofSeconds(3)));
+        lenient().when(llmGateway.canEscalate(any(LlmTask.class))).thenReturn(Mono.just(false));
     }
 
     @Test
@@ -49,7 +75,7 @@ class NewsEditorServiceTest {
                 })
                 .verifyComplete();
 
-        verifyNoInteractions(chatClient);
+        verify(llmGateway, never()).stream(any(), anyBoolean(), any(), any());
     }
 
     @Test
@@ -64,9 +90,124 @@ class NewsEditorServiceTest {
                 })
                 .verifyComplete();
 
-        verifyNoInteractions(chatClient);
+        verify(llmGateway, never()).stream(any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void selectTopNews_shouldUseCachedScoresWithoutCallingAi() {
+        List<NewsArticle> articles = List.of(
+                createTestArticle(1L, "Test Article 1"),
+                createTestArticle(2L, "Test Article 2"),
+                createTestArticle(3L, "Test Article 3"),
+                createTestArticle(4L, "Test Article 4")
+        );
+        when(scoreCacheService.findCachedScores(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of("abcdef1", 3, "abcdef2", 9, "abcdef3", 7, "abcdef4", 8)));
+
+        Mono<List<NewsArticle>> result = newsEditorService.selectTopNews(articles);
+
+        StepVerifier.create(result)
+                .assertNext(selectedArticles -> {
+                    assertEquals(3, selectedArticles.size());
+                    assertEquals("Test Article 2", selectedArticles.get(0).getTitle());
+                    assertEquals("Test Article 4", selectedArticles.get(1).getTitle());
+                    assertEquals("Test Article 3", selectedArticles.get(2).getTitle());
+                })
+                .verifyComplete();
+
+        verify(llmGateway, never()).stream(any(), anyBoolean(), any(), any());
+        verify(scoreCacheService, never()).saveScores(any(), anyString());
+    }
+
+    @Test
+    void selectTopNews_shouldScoreCandidatesInShards() {
+        ReflectionTestUtils.setField(newsEditorService, "finalRoundEnabled", false);
+        List<NewsArticle> articles = List.of(
+                createTestArticle(1L, "Test Article 1"),
+                createTestArticle(2L, "Test Article 2"),
+                createTestArticle(3L, "Test Article 3"),
+                createTestArticle(4L, "Test Article 4"),
+                createTestArticle(5L, "Test Article 5"),
+                createTestArticle(6L, "Test Article 6")
+        );
+        when(scoreCacheService.findCachedScores(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+        when(scoreCacheService.saveScores(anyMap(), anyString())).thenReturn(Mono.empty());
+        when(llmGateway.stream(eq(LlmTask.SCORING), anyBoolean(), anyString(), anyString()))
+                .thenAnswer(i -> Flux.just("NOTA1: ", "9, NO", "TA2: 2"));
+
+        Mono<List<NewsArticle>> result = newsEditorService.selectTopNews(articles);
+
+        StepVerifier.create(result)
+                .assertNext(selectedArticles -> {
+                    List<String> titles = selectedArticles.stream().map(NewsArticle::getTitle).toList();
+                    assertEquals(3, titles.size());
+                    assertTrue(titles.containsAll(List.of("Test Article 1", "Test Article 3", "Test Article 5")));
+                })
+                .verifyComplete();
+
+        verify(scoreCacheService).saveScores(anyMap(), anyString());
     }
 
+    @Test
+    void selectTopNews_shouldNotCacheScoresFromEscalatedBatches() {
+        ReflectionTestUtils.setField(newsEditorService, "finalRoundEnabled", false);
+        List<NewsArticle> articles = List.of(
+                createTestArticle(1L, "Test Article 1"),
+                createTestArticle(2L, "Test Article 2"),
+                createTestArticle(3L, "Test Article 3"),
+                createTestArticle(4L, "Test Article 4")
+        );
+        when(scoreCacheService.findCachedScores(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+        when(scoreCacheService.saveScores(anyMap(), anyString())).thenReturn(Mono.empty());
+        when(llmGateway.minCoverage(LlmTask.SCORING)).thenReturn(0.8);
+        when(llmGateway.canEscalate(LlmTask.SCORING)).thenReturn(Mono.just(true));
+        when(llmGateway.stream(eq(LlmTask.SCORING), eq(false), anyString(), anyString()))
+                .thenAnswer(i -> Flux.just("NOTA1: 9"));
+        when(llmGateway.stream(eq(LlmTask.SCORING), eq(true), anyString(), anyString()))
+                .thenAnswer(i -> Flux.just("NOTA1: 9, NOTA2: 7"));
+
+        StepVerifier.create(newsEditorService.selectTopNews(articles))
+                .assertNext(selectedArticles -> assertEquals(3, selectedArticles.size()))
+                .verifyComplete();
+
+        verify(scoreCacheService).saveScores(eq(Map.of()), anyString());
+    }
+
+    @Test
+    void selectBreakingNews_shouldOnlyReturnAiScoresAboveThreshold() {
+        NewsArticle lowPrior = createTestArticle(1L, "Test Article 1");
+        NewsArticle cached = createTestArticle(2L, "Test Article 2");
+        NewsArticle urgent = createTestArticle(3L, "Test Article 3");
+        NewsArticle ordinary = createTestArticle(4L, "Test Article 4");
+        when(preRanker.toEditorScale(lowPrior)).thenReturn(3);
+        when(preRanker.toEditorScale(cached)).thenReturn(7);
+        when(preRanker.toEditorScale(urgent)).thenReturn(7);
+        when(preRanker.toEditorScale(ordinary)).thenReturn(7);
+        when(scoreCacheService.findCachedScores(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of("abcdef2", 9)));
+        when(scoreCacheService.saveScores(anyMap(), anyString())).thenReturn(Mono.empty());
+        when(llmGateway.stream(eq(LlmTask.SCORING), anyBoolean(), anyString(), anyString()))
+                .thenAnswer(i -> Flux.just("NOTA1: 10, NOTA2: 6"));
+
+        StepVerifier.create(newsEditorService.selectBreakingNews(List.of(lowPrior, cached, urgent, ordinary), 6, 9))
+                .assertNext(selected -> assertEquals(List.of(urgent, cached), selected))
+                .verifyComplete();
+
+        verify(scoreCacheService).findCachedScores(eq(List.of(cached, urgent, ordinary)), anyString());
+    }
+
+    @Test
+    void selectBreakingNews_shouldSkipAiWhenNoCandidatePassesPreFilter() {
+        NewsArticle article = createTestArticle(1L, "Test Article 1");
+        when(preRanker.toEditorScale(article)).thenReturn(2);
+
+        StepVerifier.create(newsEditorService.selectBreakingNews(List.of(article), 6, 9))
+                .assertNext(selected -> assertTrue(selected.isEmpty()))
+                .verifyComplete();
+
+        verify(llmGateway, never()).stream(any(), anyBoolean(), any(), any());
+        verifyNoInteractions(scoreCacheService);
+    }
 
     private NewsArticle createTestArticle(Long id, String title) {
         return NewsArticle.builder()
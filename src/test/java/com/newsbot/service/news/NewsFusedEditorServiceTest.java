@@ -0,0 +1,126 @@
+package com.newsbot.service.news;
+
+import com.newsbot.model.NewsArticle;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.news.NewsFusedEditorService.FusedItem;
+import com.newsbot.service.news.NewsFusedEditorService.FusedResponse;
+import com.newsbot.service.prompt.PromptBudgetService;
+import com.newsbot.service.translation.NewsTranslationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NewsFusedEditorServiceTest {
+
+    @Mock
+    private LlmGateway llmGateway;
+
+    @Mock
+    private NewsPreRanker preRanker;
+
+    @Mock
+    private NewsTranslationService translationService;
+
+    private NewsFusedEditorService fusedEditorService;
+
+    @BeforeEach
+    void setUp() {
+        PromptBudgetService promptBudget = new PromptBudgetService();
+        ReflectionTestUtils.setField(promptBudget, "maxRequestTokens", 6000);
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 128000);
+        fusedEditorService = new NewsFusedEditorService(llmGateway, preRanker, promptBudget, translationService);
+        ReflectionTestUtils.setField(fusedEditorService, "topNewsCount", 2);
+        ReflectionTestUtils.setField(fusedEditorService, "batchSize", 10);
+        ReflectionTestUtils.setField(fusedEditorService, "batchConcurrency", 1);
+        ReflectionTestUtils.setField(fusedEditorService, "translateThreshold", 7);
+        ReflectionTestUtils.setField(fusedEditorService, "maxTitleLength", 200);
+        ReflectionTestUtils.setField(fusedEditorService, "maxDescriptionLength", 400);
+        lenient().when(preRanker.shortlist(anyList())).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        lenient().when(preRanker.toEditorScale(any(NewsArticle.class))).thenReturn(5);
+        lenient().when(llmGateway.hasBudget(any(LlmTask.class))).thenReturn(true);
+        lenient().when(llmGateway.canEscalate(any(LlmTask.class))).thenReturn(Mono.just(false));
+    }
+
+    @Test
+    void selectAndTranslate_shouldSelectLocallyAndReuseReturnedTranslations() {
+        NewsArticle first = createTestArticle(1L, "Big launch");
+        NewsArticle second = createTestArticle(2L, "Minor patch");
+        NewsArticle third = createTestArticle(3L, "Major acquisition");
+
+        when(llmGateway.entity(eq(LlmTask.FUSED), anyBoolean(), anyString(), anyString(), eq(FusedResponse.class)))
+                .thenReturn(Mono.just(new FusedResponse(List.of(
+                        new FusedItem(1, 9, "Grande lançamento", "Resumo do lançamento"),
+                        new FusedItem(2, 3, "", ""),
+                        new FusedItem(3, 8, "Grande aquisição", "Resumo da aquisição")))));
+        when(translationService.adoptTranslation(anyString(), anyString()))
+                .thenAnswer(i -> Mono.just(NewsTranslationService.ProcessedNews.builder()
+                        .title(i.getArgument(0))
+                        .description(i.getArgument(1))
+                        .build()));
+
+        StepVerifier.create(fusedEditorService.selectAndTranslate(List.of(first, second, third)))
+                .assertNext(selected -> {
+                    assertEquals(2, selected.size());
+                    assertEquals(first, selected.get(0).getArticle());
+                    assertEquals("Grande lançamento", selected.get(0).getNews().getTitle());
+                    assertEquals(third, selected.get(1).getArticle());
+                    assertEquals("Resumo da aquisição", selected.get(1).getNews().getDescription());
+                })
+                .verifyComplete();
+
+        verify(translationService, never()).processSingleNews(anyString(), anyString());
+    }
+
+    @Test
+    void selectAndTranslate_shouldTranslateSeparatelyWhenTranslationIsMissing() {
+        NewsArticle first = createTestArticle(1L, "Big launch");
+
+        when(llmGateway.entity(eq(LlmTask.FUSED), anyBoolean(), anyString(), anyString(), eq(FusedResponse.class)))
+                .thenReturn(Mono.just(new FusedResponse(List.of(new FusedItem(1, 6, null, null)))));
+        when(translationService.processSingleNews("Big launch", "Description of Big launch"))
+                .thenReturn(Mono.just(NewsTranslationService.ProcessedNews.builder()
+                        .title("Grande lançamento")
+                        .description("Resumo")
+                        .build()));
+
+        StepVerifier.create(fusedEditorService.selectAndTranslate(List.of(first)))
+                .assertNext(selected -> {
+                    assertEquals(1, selected.size());
+                    assertEquals("Grande lançamento", selected.get(0).getNews().getTitle());
+                })
+                .verifyComplete();
+
+        verify(translationService, never()).adoptTranslation(anyString(), anyString());
+    }
+
+    private NewsArticle createTestArticle(Long id, String title) {
+        return NewsArticle.builder()
+                .id(id)
+                .title(title)
+                .description("Description of " + title)
+                .url("https://example.com/" + id)
+                .contentHash("hash" + id)
+                .source("Test Source")
+                .publishedDate(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .sentToDiscord(false)
+                .build();
+    }
+}
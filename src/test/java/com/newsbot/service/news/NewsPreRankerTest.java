@@ -0,0 +1,93 @@
+package com.newsbot.service.news;
+
+import com.newsbot.config.NewsConfig;
+import com.newsbot.model.NewsArticle;
+import com.newsbot.model.SourceSelectionStats;
+import com.newsbot.repository.NewsArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NewsPreRankerTest {
+
+    @Mock
+    private NewsArticleRepository newsRepository;
+
+    private NewsConfig newsConfig;
+
+    private NewsPreRanker preRanker;
+
+    @BeforeEach
+    void setUp() {
+        newsConfig = new NewsConfig();
+        newsConfig.getPreRanker().setKeywordWeights(Map.of("acquisition", 1.5));
+        preRanker = new NewsPreRanker(newsConfig, newsRepository);
+    }
+
+    @Test
+    void shortlist_shouldKeepTopRankedArticles() {
+        newsConfig.getPreRanker().setShortlistSize(2);
+        when(newsRepository.findSourceSelectionStats(any(LocalDateTime.class))).thenReturn(Flux.empty());
+
+        NewsArticle known = createTestArticle("TechCrunch", "Microsoft announces new Surface lineup for 2025", 1);
+        NewsArticle deal = createTestArticle("Unknown Blog", "Best laptop deals this weekend", 1);
+        NewsArticle acquisition = createTestArticle("Unknown Blog", "Big acquisition shakes up the chip industry", 1);
+        NewsArticle old = createTestArticle("Unknown Blog", "Small update released for an old app", 72);
+
+        StepVerifier.create(preRanker.shortlist(List.of(deal, old, acquisition, known)))
+                .assertNext(shortlist -> assertEquals(List.of(known, acquisition), shortlist))
+                .verifyComplete();
+    }
+
+    @Test
+    void shortlist_shouldFavourSourcesWithHigherHistoricalSelectionRate() {
+        newsConfig.getPreRanker().setSourcePriors(Map.of());
+        when(newsRepository.findSourceSelectionStats(any(LocalDateTime.class))).thenReturn(Flux.just(
+                new SourceSelectionStats("Often Picked", 100L, 40L),
+                new SourceSelectionStats("Rarely Picked", 100L, 2L)
+        ));
+
+        NewsArticle rarely = createTestArticle("Rarely Picked", "Company ships a new product line today", 1);
+        NewsArticle often = createTestArticle("Often Picked", "Company ships a new product line today", 1);
+
+        StepVerifier.create(preRanker.shortlist(List.of(rarely, often)))
+                .assertNext(shortlist -> assertEquals(List.of(often, rarely), shortlist))
+                .verifyComplete();
+    }
+
+    @Test
+    void toEditorScale_shouldStayWithinScoreBounds() {
+        NewsArticle article = createTestArticle("TechCrunch", "Major acquisition announced", 0);
+
+        int score = preRanker.toEditorScale(article);
+
+        assertTrue(score >= 1 && score <= 10);
+    }
+
+    private NewsArticle createTestArticle(String source, String title, int ageHours) {
+        return NewsArticle.builder()
+                .title(title)
+                .description("Description of " + title)
+                .url("https://example.com/" + title.hashCode())
+                .contentHash("hash" + title.hashCode())
+                .source(source)
+                .publishedDate(LocalDateTime.now().minusHours(ageHours))
+                .createdAt(LocalDateTime.now())
+                .sentToDiscord(false)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.newsbot.service.news;
+
+import com.newsbot.model.NewsArticle;
+import com.newsbot.model.NewsScore;
+import com.newsbot.repository.NewsScoreRepository;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NewsScoreCacheServiceTest {
+
+    private static final String PROMPT_HASH = ContentDuplicateDetector.sha256("prompt");
+
+    @Mock
+    private NewsScoreRepository scoreRepository;
+
+    @Mock
+    private LlmGateway llmGateway;
+
+    @InjectMocks
+    private NewsScoreCacheService scoreCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scoreCacheService, "enabled", true);
+        ReflectionTestUtils.setField(scoreCacheService, "ttl", Duration.ofDays(7));
+        lenient().when(llmGateway.model(LlmTask.SCORING)).thenReturn(Mono.just("gpt-4o-mini"));
+    }
+
+    @Test
+    void findCachedScores_shouldReturnScoresByContentHash() {
+        when(scoreRepository.findValidScores(anyCollection(), eq(PROMPT_HASH), eq("gpt-4o-mini"), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(createScore("hash1", 8)));
+
+        Mono<Map<String, Integer>> result = scoreCacheService.findCachedScores(
+                List.of(createTestArticle("hash1"), createTestArticle("hash2")), "prompt");
+
+        StepVerifier.create(result)
+                .assertNext(scores -> {
+                    assertEquals(1, scores.size());
+                    assertEquals(8, scores.get("hash1"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findCachedScores_shouldSkipRepositoryWhenDisabled() {
+        ReflectionTestUtils.setField(scoreCacheService, "enabled", false);
+
+        Mono<Map<String, Integer>> result = scoreCacheService.findCachedScores(
+                List.of(createTestArticle("hash1")), "prompt");
+
+        StepVerifier.create(result)
+                .assertNext(scores -> assertTrue(scores.isEmpty()))
+                .verifyComplete();
+
+        verifyNoInteractions(scoreRepository);
+    }
+
+    @Test
+    void findCachedScores_shouldKeyOnRoutedModel() {
+        when(llmGateway.model(LlmTask.SCORING)).thenReturn(Mono.just("gpt-4o"));
+        when(scoreRepository.findValidScores(anyCollection(), eq(PROMPT_HASH), eq("gpt-4o"), any(LocalDateTime.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(scoreCacheService.findCachedScores(List.of(createTestArticle("hash1")), "prompt"))
+                .assertNext(scores -> assertTrue(scores.isEmpty()))
+                .verifyComplete();
+
+        verify(scoreRepository, never())
+                .findValidScores(anyCollection(), anyString(), eq("gpt-4o-mini"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void saveScores_shouldUpsertEveryScore() {
+        when(scoreRepository.upsertScore(anyString(), eq(PROMPT_HASH), eq("gpt-4o-mini"), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+
+        Mono<Void> result = scoreCacheService.saveScores(Map.of("hash1", 7, "hash2", 4), "prompt");
+
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        verify(scoreRepository, times(2))
+                .upsertScore(anyString(), eq(PROMPT_HASH), eq("gpt-4o-mini"), anyInt(), any(LocalDateTime.class));
+    }
+
+    private NewsScore createScore(String contentHash, int score) {
+        return NewsScore.builder()
+                .contentHash(contentHash)
+                .promptHash(PROMPT_HASH)
+                .model("gpt-4o-mini")
+                .score(score)
+                .scoredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private NewsArticle createTestArticle(String contentHash) {
+        return NewsArticle.builder()
+                .title("Test Article " + contentHash)
+                .description("This is a test article")
+                .url("https://example.com/" + contentHash)
+                .contentHash(contentHash)
+                .source("Test Source")
+                .publishedDate(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .sentToDiscord(false)
+                .build();
+    }
+}
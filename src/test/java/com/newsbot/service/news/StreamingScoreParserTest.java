@@ -0,0 +1,58 @@
+package com.newsbot.service.news;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingScoreParserTest {
+
+    @Test
+    void accept_shouldParseScoresSplitAcrossChunks() {
+        StreamingScoreParser parser = new StreamingScoreParser(3);
+
+        parser.accept("NO");
+        parser.accept("TA1: 7, NOTA");
+        parser.accept("2: 1");
+
+        assertEquals(7, parser.scoreAt(0));
+        assertNull(parser.scoreAt(1));
+
+        parser.accept("0, NOTA3: 4");
+        parser.finish();
+
+        assertEquals(10, parser.scoreAt(1));
+        assertEquals(4, parser.scoreAt(2));
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void accept_shouldNotConfuseMultiDigitIndexWithScore() {
+        StreamingScoreParser parser = new StreamingScoreParser(12);
+
+        parser.accept("NOTA12");
+        parser.accept(": 5");
+
+        assertNull(parser.scoreAt(0));
+        assertEquals(0, parser.scoredCount());
+
+        parser.finish();
+
+        assertEquals(5, parser.scoreAt(11));
+        assertEquals(1, parser.scoredCount());
+    }
+
+    @Test
+    void accept_shouldRejectOutOfRangeScores() {
+        StreamingScoreParser parser = new StreamingScoreParser(2);
+
+        parser.accept("NOTA1: 11, NOTA3: 5, NOTA2: 6\n");
+
+        assertNull(parser.scoreAt(0));
+        assertEquals(6, parser.scoreAt(1));
+        assertEquals(2, parser.rejectedCount());
+        assertFalse(parser.isComplete());
+    }
+}
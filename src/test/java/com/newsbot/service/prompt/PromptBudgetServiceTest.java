@@ -0,0 +1,56 @@
+package com.newsbot.service.prompt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptBudgetServiceTest {
+
+    private PromptBudgetService promptBudget;
+
+    @BeforeEach
+    void setUp() {
+        promptBudget = new PromptBudgetService();
+        ReflectionTestUtils.setField(promptBudget, "maxRequestTokens", 100);
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 128000);
+    }
+
+    @Test
+    void truncateToTokens_shouldKeepShortTextUntouched() {
+        String text = "Short description";
+
+        assertSame(text, promptBudget.truncateToTokens(text, 50));
+    }
+
+    @Test
+    void truncateToTokens_shouldCutLongTextAtWordBoundary() {
+        String text = "word ".repeat(200).trim();
+
+        String truncated = promptBudget.truncateToTokens(text, 20);
+
+        assertTrue(promptBudget.estimateTokens(truncated) <= 20);
+        assertTrue(truncated.endsWith("word..."));
+    }
+
+    @Test
+    void partition_shouldRespectTokenBudgetAndItemLimit() {
+        List<Integer> items = List.of(30, 30, 30, 30, 5, 5, 5, 5, 5);
+
+        List<List<Integer>> batches = promptBudget.partition(items, Integer::intValue, 10, 0, 4);
+
+        assertEquals(List.of(List.of(30, 30, 30), List.of(30, 5, 5, 5), List.of(5, 5)), batches);
+    }
+
+    @Test
+    void requestBudget_shouldNeverExceedContextWindow() {
+        ReflectionTestUtils.setField(promptBudget, "contextWindow", 50);
+
+        assertEquals(50, promptBudget.requestBudget());
+    }
+}
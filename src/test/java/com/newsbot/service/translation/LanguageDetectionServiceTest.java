@@ -0,0 +1,70 @@
+package com.newsbot.service.translation;
+
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LanguageDetectionServiceTest {
+
+    private static final String PORTUGUESE_TEXT = "A empresa anunciou hoje uma nova linha de processadores para " +
+            "notebooks, com foco em eficiência energética e desempenho em jogos.";
+    private static final String ENGLISH_TEXT = "The company announced today a new line of processors for " +
+            "laptops, focusing on energy efficiency and gaming performance.";
+
+    private static LanguageDetectionService languageDetectionService;
+
+    @BeforeAll
+    static void setUp() {
+        languageDetectionService = new LanguageDetectionService(new ContentDuplicateDetector(), 2, 100, 40,
+                List.of("pt", "en", "es"), false);
+    }
+
+    @Test
+    void isPortuguese_shouldClassifyLongText() {
+        assertTrue(languageDetectionService.isPortuguese(PORTUGUESE_TEXT));
+        assertFalse(languageDetectionService.isPortuguese(ENGLISH_TEXT));
+    }
+
+    @Test
+    void isPortuguese_shouldUseMarkersForShortText() {
+        assertTrue(languageDetectionService.isPortuguese("Nova versão do Linux"));
+        assertFalse(languageDetectionService.isPortuguese("The new Linux release"));
+        assertFalse(languageDetectionService.isPortuguese("   "));
+    }
+
+    @Test
+    void isPortuguese_shouldStayCorrectUnderConcurrency() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String suffix = " #" + i;
+                tasks.add(() -> languageDetectionService.isPortuguese(PORTUGUESE_TEXT + suffix)
+                        && !languageDetectionService.isPortuguese(ENGLISH_TEXT + suffix));
+            }
+
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void isConfidentlyPortuguese_shouldOnlyAcceptLongPortugueseText() {
+        assertTrue(languageDetectionService.isConfidentlyPortuguese(PORTUGUESE_TEXT, 0.8));
+        assertFalse(languageDetectionService.isConfidentlyPortuguese(ENGLISH_TEXT, 0.8));
+        assertFalse(languageDetectionService.isConfidentlyPortuguese("Nova versão do Linux", 0.8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.newsbot.service.translation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NewsAIResponseParserTest {
+
+    private final NewsAIResponseParser parser = new NewsAIResponseParser();
+
+    @Test
+    void parseBatchResponse_shouldExtractIndexedSections() {
+        String response = """
+                [1]
+                TÍTULO: Primeiro título
+                RESUMO: Primeiro resumo.
+                [2]
+                TITULO: "Segundo título"
+                RESUMO: Segundo resumo
+                em duas linhas.
+                """;
+
+        Map<Integer, NewsTranslationService.ProcessedNews> parsed = parser.parseBatchResponse(response, 2, 200, 400);
+
+        assertEquals(2, parsed.size());
+        assertEquals("Primeiro título", parsed.get(0).getTitle());
+        assertEquals("Primeiro resumo.", parsed.get(0).getDescription());
+        assertEquals("Segundo título", parsed.get(1).getTitle());
+        assertEquals("Segundo resumo\nem duas linhas.", parsed.get(1).getDescription());
+    }
+
+    @Test
+    void parseBatchResponse_shouldSkipIncompleteAndOutOfRangeSections() {
+        String response = """
+                [1]
+                TÍTULO: Apenas título
+                [3]
+                TÍTULO: Fora do lote
+                RESUMO: Ignorado
+                [2]
+                TÍTULO: Completo
+                RESUMO: Resumo completo
+                """;
+
+        Map<Integer, NewsTranslationService.ProcessedNews> parsed = parser.parseBatchResponse(response, 2, 200, 400);
+
+        assertFalse(parsed.containsKey(0));
+        assertTrue(parsed.containsKey(1));
+        assertEquals(1, parsed.size());
+    }
+
+    @Test
+    void parseBatchResponse_shouldTruncateToLimits() {
+        String response = "[1]\nTÍTULO: " + "a".repeat(50) + "\nRESUMO: " + "b".repeat(50);
+
+        Map<Integer, NewsTranslationService.ProcessedNews> parsed = parser.parseBatchResponse(response, 1, 20, 30);
+
+        assertEquals(20, parsed.get(0).getTitle().length());
+        assertEquals(30, parsed.get(0).getDescription().length());
+    }
+
+    @Test
+    void polish_shouldTruncateAndFallBackToTitle() {
+        NewsTranslationService.ProcessedNews polished = parser.polish("Título em português", "", 10, 400);
+
+        assertEquals("Título...", polished.getTitle());
+        assertEquals("Título em português", polished.getDescription());
+    }
+}
@@ -0,0 +1,122 @@
+package com.newsbot.service.translation;
+
+import com.newsbot.model.TranslationCacheEntry;
+import com.newsbot.repository.TranslationCacheRepository;
+import com.newsbot.service.ai.LlmGateway;
+import com.newsbot.service.ai.LlmTask;
+import com.newsbot.service.duplicate.ContentDuplicateDetector;
+import com.newsbot.service.translation.NewsTranslationService.ProcessedNews;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TranslationCacheServiceTest {
+
+    private static final String PROMPT_VERSION = ContentDuplicateDetector.sha256("prompt");
+
+    @Mock
+    private TranslationCacheRepository cacheRepository;
+
+    @Mock
+    private ContentDuplicateDetector contentDuplicateDetector;
+
+    @Mock
+    private LlmGateway llmGateway;
+
+    private TranslationCacheService translationCache;
+
+    @BeforeEach
+    void setUp() {
+        translationCache = new TranslationCacheService(cacheRepository, contentDuplicateDetector, llmGateway, 10);
+        ReflectionTestUtils.setField(translationCache, "enabled", true);
+        lenient().when(llmGateway.model(LlmTask.TRANSLATION)).thenReturn(Mono.just("gpt-4o-mini"));
+        lenient().when(contentDuplicateDetector.generateContentHash("Title Description")).thenReturn("content-hash");
+    }
+
+    @Test
+    void find_shouldLoadFromDatabaseAndKeepInMemory() {
+        when(cacheRepository.findEntry("content-hash", "pt-BR", "gpt-4o-mini", PROMPT_VERSION))
+                .thenReturn(Mono.just(TranslationCacheEntry.builder()
+                        .title("Título")
+                        .description("Descrição")
+                        .build()));
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .assertNext(news -> assertEquals("Título", news.getTitle()))
+                .verifyComplete();
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .assertNext(news -> assertEquals("Descrição", news.getDescription()))
+                .verifyComplete();
+
+        verify(cacheRepository, times(1)).findEntry(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void find_shouldCompleteEmptyWhenRepositoryFails() {
+        when(cacheRepository.findEntry(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("connection refused")));
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_shouldUpsertAndServeNextLookupFromMemory() {
+        when(cacheRepository.upsertEntry(eq("content-hash"), eq("pt-BR"), eq("gpt-4o-mini"), eq(PROMPT_VERSION),
+                eq("Título"), eq("Descrição"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+
+        ProcessedNews translation = ProcessedNews.builder().title("Título").description("Descrição").build();
+
+        StepVerifier.create(translationCache.save("Title", "Description", "prompt", translation))
+                .verifyComplete();
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .assertNext(news -> assertEquals("Título", news.getTitle()))
+                .verifyComplete();
+
+        verify(cacheRepository, never()).findEntry(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void find_shouldMissWhenRoutedModelChanges() {
+        when(cacheRepository.upsertEntry(anyString(), anyString(), anyString(), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+        when(cacheRepository.findEntry("content-hash", "pt-BR", "gpt-4o", PROMPT_VERSION)).thenReturn(Mono.empty());
+
+        ProcessedNews translation = ProcessedNews.builder().title("Título").description("Descrição").build();
+        StepVerifier.create(translationCache.save("Title", "Description", "prompt", translation))
+                .verifyComplete();
+
+        when(llmGateway.model(LlmTask.TRANSLATION)).thenReturn(Mono.just("gpt-4o"));
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .verifyComplete();
+    }
+
+    @Test
+    void find_shouldSkipLookupWhenDisabled() {
+        ReflectionTestUtils.setField(translationCache, "enabled", false);
+
+        StepVerifier.create(translationCache.find("Title", "Description", "prompt"))
+                .verifyComplete();
+
+        verifyNoInteractions(cacheRepository);
+    }
+}